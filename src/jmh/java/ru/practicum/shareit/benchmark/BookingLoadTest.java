@@ -0,0 +1,241 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузка на уже запущенное приложение: GET /bookings и POST /bookings от {@code load.clients}
+ * одновременных клиентов. Каждый клиент шлёт следующий запрос сразу после ответа на предыдущий (закрытая
+ * модель), поэтому пропускная способность и p99 показывают, сколько параллельных запросов сервер реально
+ * держит. Сравнение режимов — два запуска против приложения с профилем {@code virtual-threads} и без него:
+ * <pre>
+ * java -jar target/shareit-0.0.1-SNAPSHOT.jar --spring.profiles.active=virtual-threads
+ * mvn -Pbenchmark test-compile exec:exec@loadtest -Dload.label=virtual -Dload.clients=1000
+ * </pre>
+ * Итоги печатаются и пишутся в JSON ({@code load.result}).
+ */
+public class BookingLoadTest {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final int ITEMS = 100;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final String baseUrl;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    // Каждое бронирование получает свой двухчасовой интервал, чтобы POST не упирался в пересечения.
+    private final AtomicLong slots = new AtomicLong();
+    private final LocalDateTime firstSlot = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    private int bookerId;
+    private int[] itemIds;
+
+    public BookingLoadTest(String baseUrl, int clients, Duration warmup, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        BookingLoadTest test = new BookingLoadTest(
+                System.getProperty("load.url", "http://localhost:8080"),
+                Integer.getInteger("load.clients", 1000),
+                Duration.ofSeconds(Integer.getInteger("load.warmup", 10)),
+                Duration.ofSeconds(Integer.getInteger("load.duration", 30)));
+        test.seed();
+
+        List<Result> results = List.of(
+                test.run("GET /bookings", test::findBookings),
+                test.run("POST /bookings", test::createBooking));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", System.getProperty("load.label", "default"));
+        report.put("clients", test.clients);
+        report.put("durationSeconds", test.duration.toSeconds());
+        report.put("results", results);
+        File file = new File(System.getProperty("load.result", "target/loadtest-result.json"));
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        test.objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println("Результат сохранён в " + file);
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        long run = System.currentTimeMillis();
+        int ownerId = id(send(post("/users", null, Map.of("name", "owner" + run, "email", "owner" + run + "@ya.ru"))));
+        bookerId = id(send(post("/users", null, Map.of("name", "booker" + run, "email", "booker" + run + "@ya.ru"))));
+        itemIds = new int[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds[i] = id(send(post("/items", ownerId,
+                    Map.of("name", "Вещь " + run + "-" + i, "description", "Нагрузочный тест", "available", true))));
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            send(createBooking());
+        }
+    }
+
+    private HttpRequest findBookings() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings?state=ALL&from=0&size=20"))
+                .header(HEADER_USER_ID, String.valueOf(bookerId))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest createBooking() {
+        LocalDateTime start = firstSlot.plusHours(2 * slots.getAndIncrement());
+        Map<String, Object> body = Map.of(
+                "itemId", itemIds[ThreadLocalRandom.current().nextInt(itemIds.length)],
+                "start", start,
+                "end", start.plusHours(1));
+        return post("/bookings", bookerId, body);
+    }
+
+    private Result run(String scenario, Supplier<HttpRequest> requests) throws InterruptedException {
+        System.out.printf("%s: %d клиентов, прогрев %d с, замер %d с%n", scenario, clients, warmup.toSeconds(),
+                duration.toSeconds());
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        long[][] latencies = new long[clients][];
+        LongAdder errors = new LongAdder();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            int clientIndex = c;
+            Thread thread = new Thread(() -> {
+                long[] own = new long[1024];
+                int count = 0;
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < measureTo) {
+                        boolean ok;
+                        try {
+                            ok = send(requests.get()).statusCode() < 400;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (now >= measureFrom) {
+                            if (!ok) {
+                                errors.increment();
+                            }
+                            if (count == own.length) {
+                                own = Arrays.copyOf(own, count * 2);
+                            }
+                            own[count++] = end - now;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[clientIndex] = Arrays.copyOf(own, count);
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Result result = Result.of(scenario, latencies, errors.sum(), duration);
+        System.out.println(result);
+        return result;
+    }
+
+    private HttpRequest post(String path, Integer userId, Map<String, Object> body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json");
+        if (userId != null) {
+            builder.header(HEADER_USER_ID, String.valueOf(userId));
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private int id(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Не удалось подготовить данные: " + response.statusCode() + " "
+                    + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("id").asInt();
+    }
+
+    public static final class Result {
+        public final String scenario;
+        public final long requests;
+        public final long errors;
+        public final double throughputPerSecond;
+        public final double p50Millis;
+        public final double p99Millis;
+        public final double maxMillis;
+
+        private Result(String scenario, long requests, long errors, double throughputPerSecond, double p50Millis,
+                       double p99Millis, double maxMillis) {
+            this.scenario = scenario;
+            this.requests = requests;
+            this.errors = errors;
+            this.throughputPerSecond = throughputPerSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        static Result of(String scenario, long[][] latencies, long errors, Duration duration) {
+            long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+            if (all.length == 0) {
+                return new Result(scenario, 0, errors, 0, 0, 0, 0);
+            }
+            return new Result(scenario, all.length, errors, all.length / (double) duration.toSeconds(),
+                    millis(all[percentile(all.length, 0.50)]), millis(all[percentile(all.length, 0.99)]),
+                    millis(all[all.length - 1]));
+        }
+
+        private static int percentile(int size, double quantile) {
+            return Math.min(size - 1, (int) Math.ceil(quantile * size) - 1);
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-15s запросов %8d, ошибок %6d, %9.1f запр/с, p50 %8.2f мс, p99 %8.2f мс, max %8.2f мс",
+                    scenario, requests, errors, throughputPerSecond, p50Millis, p99Millis, maxMillis);
+        }
+    }
+}
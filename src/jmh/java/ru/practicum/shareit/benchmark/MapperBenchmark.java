@@ -0,0 +1,120 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.dto.ItemRequestDto;
+import ru.practicum.shareit.requests.mapper.ItemRequestMapper;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость преобразований сущность ↔ DTO на типичных объектах: вещь с бронированиями и комментариями,
+ * бронирование, запрос с откликнувшимися вещами.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final ItemRequestMapper itemRequestMapper = new ItemRequestMapper();
+
+    private Item item;
+    private ItemDto itemDto;
+    private Booking booking;
+    private ItemRequest itemRequest;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1, "owner", "owner@ya.ru");
+        User booker = new User(2, "booker", "booker@ya.ru");
+        itemRequest = new ItemRequest(1, "Нужна дрель", booker, now.minusDays(3), new ArrayList<>());
+
+        item = Item.builder()
+                .id(1)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner)
+                .request(itemRequest)
+                .build();
+        item.setLastBooking(booking(1, item, booker, now.minusDays(2), now.minusDays(1)));
+        item.setNextBooking(booking(2, item, booker, now.plusDays(1), now.plusDays(2)));
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            comments.add(new Comment(i, "Комментарий " + i, item, booker, now.minusHours(i)));
+        }
+        item.setComments(comments);
+        itemDto = itemMapper.toItemDto(item);
+        booking = item.getLastBooking();
+
+        for (int i = 1; i <= 5; i++) {
+            itemRequest.getItems().add(Item.builder()
+                    .id(i)
+                    .name("Дрель " + i)
+                    .description("Ответ на запрос")
+                    .available(true)
+                    .owner(owner)
+                    .request(itemRequest)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public Item itemFromItemDto() {
+        return itemMapper.fromItemDto(itemDto);
+    }
+
+    @Benchmark
+    public BookingDto bookingToBookingDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemRequestDto itemRequestToItemRequestDto() {
+        return itemRequestMapper.toItemRequestDto(itemRequest);
+    }
+
+    private static Booking booking(int id, Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(item)
+                .booker(booker)
+                .ownerId(item.getOwner().getId())
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение через ItemService и BookingServiceImpl на встроенной H2 с заполненными данными:
+ * 20 владельцев по 25 вещей, у каждой вещи 10 бронирований и 2 комментария.
+ * Замеряются только методы, которые вызывают контроллеры.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceReadBenchmark {
+
+    private static final int OWNERS = 20;
+    private static final int BOOKERS = 200;
+    private static final int ITEMS_PER_OWNER = 25;
+    private static final int BOOKINGS_PER_ITEM = 10;
+    private static final int COMMENTS_PER_ITEM = 2;
+    private static final int PAGE = 20;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    private int ownerId;
+    private int bookerId;
+    private int itemId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark", "logging.level.root=WARN")
+                .run();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        seed();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsByOwner() {
+        return itemService.getItemDtosByUserId(ownerId, 0, PAGE);
+    }
+
+    @Benchmark
+    public Item itemByIdAsOwner() {
+        return itemService.getItemById(itemId, ownerId);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems() {
+        return itemService.getItemDtosBySubString("дрель", 0, PAGE);
+    }
+
+    @Benchmark
+    public Collection<BookingView> bookingViewsByOwner() {
+        return bookingService.findViewsByOwnerId(ownerId, "ALL", null, 0, PAGE);
+    }
+
+    @Benchmark
+    public Collection<BookingView> bookingViewsByBooker() {
+        return bookingService.findViewsByBookerId(bookerId, "PAST", null, 0, PAGE);
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < OWNERS + BOOKERS; i++) {
+            users.add(User.builder().name("user" + i).email("user" + i + "@ya.ru").build());
+        }
+        users = userRepository.saveAll(users);
+        List<User> owners = users.subList(0, OWNERS);
+        List<User> bookers = users.subList(OWNERS, users.size());
+
+        List<Item> items = new ArrayList<>();
+        for (User owner : owners) {
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                items.add(Item.builder()
+                        .name((i % 5 == 0 ? "Дрель " : "Вещь ") + owner.getId() + "-" + i)
+                        .description("Описание вещи " + i)
+                        .available(true)
+                        .owner(owner)
+                        .build());
+            }
+        }
+        items = itemRepository.saveAll(items);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        int seq = 0;
+        for (Item item : items) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                // Половина бронирований в прошлом, половина в будущем, без пересечений по вещи.
+                LocalDateTime start = now.plusDays((long) (i - BOOKINGS_PER_ITEM / 2) * 3);
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(bookers.get(seq++ % bookers.size()))
+                        .ownerId(item.getOwner().getId())
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .status(i % 4 == 0 ? BookingStatus.WAITING : BookingStatus.APPROVED)
+                        .build());
+            }
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                comments.add(Comment.builder()
+                        .text("Комментарий " + i)
+                        .item(item)
+                        .author(bookers.get(seq++ % bookers.size()))
+                        .created(now.minusDays(i))
+                        .build());
+            }
+        }
+        bookingRepository.saveAll(bookings);
+        commentRepository.saveAll(comments);
+
+        ownerId = owners.get(0).getId();
+        bookerId = bookers.get(0).getId();
+        itemId = items.get(0).getId();
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.validate.ValidateItemData;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.validate.ValidateUserData;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускная способность валидаторов в один поток и на всех ядрах. Валидаторы — общие синглтоны,
+ * как в контексте Spring, поэтому рост результата с числом потоков показывает отсутствие общего состояния.
+ * Запуск: {@code mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.include=ValidatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final ValidateUserData validateUserData = new ValidateUserData();
+    // Проверка полей вещи не обращается к UserService.
+    private final ValidateItemData validateItemData = new ValidateItemData(null);
+
+    private User[] users;
+    private Item[] items;
+
+    @Setup
+    public void setUp() {
+        users = new User[SAMPLES];
+        items = new Item[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            // Каждая восьмая запись некорректна, как отклонённые запросы в общем потоке.
+            boolean valid = i % 8 != 0;
+            users[i] = User.builder()
+                    .id(i)
+                    .name(valid ? "user" + i : "user " + i)
+                    .email(valid ? "user" + i + "@ya.ru" : "user" + i)
+                    .build();
+            items[i] = Item.builder()
+                    .id(i)
+                    .name("item" + i)
+                    .description(valid ? "description " + i : "")
+                    .available(valid ? Boolean.TRUE : null)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void validateUserSingleThread(Blackhole blackhole) {
+        blackhole.consume(validateUserData.validate(users[next()]));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void validateUserAllCores(Blackhole blackhole) {
+        blackhole.consume(validateUserData.validate(users[next()]));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void validateItemSingleThread(Blackhole blackhole) {
+        blackhole.consume(validateItemData.validate(items[next()]));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void validateItemAllCores(Blackhole blackhole) {
+        blackhole.consume(validateItemData.validate(items[next()]));
+    }
+
+    private static int next() {
+        return ThreadLocalRandom.current().nextInt(SAMPLES);
+    }
+}
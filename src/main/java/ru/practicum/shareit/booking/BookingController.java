@@ -2,20 +2,26 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.CreatedBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingReactiveService;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationErrorResponse;
 import ru.practicum.shareit.exception.ValidationException;
 
 import javax.validation.Valid;
+import java.sql.SQLException;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -29,27 +35,42 @@ public class BookingController {
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
     private static final String FROM = "0";
     private static final String SIZE = "20";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String EXCLUSION_VIOLATION = "23P01";
     private final BookingService bookingService;
+    private final BookingReactiveService bookingReactiveService;
     private final BookingMapper bookingMapper;
 
     @PostMapping
     public CreatedBookingDto createBooking(@RequestHeader(HEADER_USER_ID) int userId,
                                            @Valid @RequestBody CreatedBookingDto bookingDto) {
-        log.info("Получен запрос к эндпоинту POST /bookings");
+        log.debug("Получен запрос к эндпоинту POST /bookings");
         Booking booking = bookingService.createBooking(userId, bookingMapper.toBooking(bookingDto));
         return bookingMapper.toCreatedBookingDto(booking);
     }
 
+    @PostMapping("/batch")
+    public List<CreatedBookingDto> createBookings(@RequestHeader(HEADER_USER_ID) int userId,
+                                                  @RequestBody List<CreatedBookingDto> bookingsDto) {
+        log.debug("Получен запрос к эндпоинту POST /bookings/batch, {} бронирований", bookingsDto.size());
+        List<Booking> bookings = bookingService.createBookings(userId, bookingsDto.stream()
+                .map(bookingMapper::toBooking)
+                .collect(Collectors.toList()));
+        return bookings.stream()
+                .map(bookingMapper::toCreatedBookingDto)
+                .collect(Collectors.toList());
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto setApprove(@RequestHeader(HEADER_USER_ID) int userId,
                                  @PathVariable int bookingId, @RequestParam boolean approved) {
-        log.info("Получен запрос к эндпоинту PATCH /bookingId");
+        log.debug("Получен запрос к эндпоинту PATCH /bookingId");
         return bookingMapper.toBookingDto((bookingService.setApproved(userId, bookingId, approved)));
     }
 
     @GetMapping("/{bookingId}")
     public BookingDto findBookingById(@RequestHeader(HEADER_USER_ID) int userId, @PathVariable int bookingId) {
-        log.info("Получен запрос к эндпоинту GET /bookingId");
+        log.debug("Получен запрос к эндпоинту GET /bookingId");
         return bookingMapper.toBookingDto(bookingService.findBookingById(userId, bookingId));
     }
 
@@ -57,42 +78,97 @@ public class BookingController {
     public Collection<BookingDto> findAllByBookerId(@RequestParam(defaultValue = "ALL") String state,
                                                     @RequestParam(defaultValue = FROM) int from,
                                                     @RequestParam(defaultValue = SIZE) int size,
+                                                    @RequestParam(required = false) String after,
                                                     @RequestHeader(HEADER_USER_ID) int userId) {
-        log.info("Получен запрос к эндпоинту GET /booking/" + state);
-        return bookingService.findAllByBookerId(userId, state, from, size)
+        log.debug("Получен запрос к эндпоинту GET /bookings, state = {}", state);
+        return bookingService.findViewsByBookerId(userId, state, after, from, size)
                 .stream()
                 .map(bookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Бронирования пользователя потоком NDJSON (по запросу с {@code Accept: application/x-ndjson}):
+     * чтение идёт через R2DBC и не занимает JDBC-соединение. Курсор {@code after} здесь не поддерживается.
+     */
+    @GetMapping(produces = APPLICATION_NDJSON)
+    public Flux<BookingDto> streamAllByBookerId(@RequestParam(defaultValue = "ALL") String state,
+                                                @RequestParam(defaultValue = FROM) int from,
+                                                @RequestParam(defaultValue = SIZE) int size,
+                                                @RequestHeader(HEADER_USER_ID) int userId) {
+        log.debug("Получен запрос к эндпоинту GET /bookings (поток), state = {}", state);
+        return bookingReactiveService.findViewsByBookerId(userId, state, from, size)
+                .map(bookingMapper::toBookingDto);
+    }
+
     @GetMapping("/owner")
     public Collection<BookingDto> findAllByOwnerId(@RequestHeader(HEADER_USER_ID) int userId,
                                                    @RequestParam(defaultValue = FROM) int from,
                                                    @RequestParam(defaultValue = SIZE) int size,
-                                                   @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Получен запрос к эндпоинту GET /owner/" + state);
-        return bookingService.findAllByOwnerId(userId, state, from, size)
+                                                   @RequestParam(defaultValue = "ALL") String state,
+                                                   @RequestParam(required = false) String after) {
+        log.debug("Получен запрос к эндпоинту GET /bookings/owner, state = {}", state);
+        return bookingService.findViewsByOwnerId(userId, state, after, from, size)
                 .stream()
                 .map(bookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * То же, что {@link #streamAllByBookerId}, для бронирований вещей владельца.
+     */
+    @GetMapping(value = "/owner", produces = APPLICATION_NDJSON)
+    public Flux<BookingDto> streamAllByOwnerId(@RequestHeader(HEADER_USER_ID) int userId,
+                                               @RequestParam(defaultValue = FROM) int from,
+                                               @RequestParam(defaultValue = SIZE) int size,
+                                               @RequestParam(defaultValue = "ALL") String state) {
+        log.debug("Получен запрос к эндпоинту GET /bookings/owner (поток), state = {}", state);
+        return bookingReactiveService.findViewsByOwnerId(userId, state, from, size)
+                .map(bookingMapper::toBookingDto);
+    }
+
     @ExceptionHandler
     public ResponseEntity<ValidationErrorResponse> handleIncorrectValidation(ValidationException e) {
-        log.warn("При обработке запроса возникло исключение: " + e.getMessage());
-        return new ResponseEntity<>(new ValidationErrorResponse(e.getMessage()), HttpStatus.BAD_REQUEST);
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
+        // JSON явно: потоковые маршруты принимают только application/x-ndjson
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ValidationErrorResponse(e.getMessage()));
+    }
+
+    /**
+     * На PostgreSQL параллельные пересекающиеся бронирования, разминувшиеся с проверкой в сервисе,
+     * отклоняет ограничение EX_BOOKING_ITEM_OVERLAP (SQLSTATE 23P01) — для клиента это тот же отказ.
+     */
+    @ExceptionHandler
+    public ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
+        if (isExclusionViolation(e)) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new ValidationErrorResponse("Вещь уже забронирована на эти даты"));
+        }
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleException(Exception e) {
-        log.warn("При обработке запроса возникло исключение " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleNotFoundException(InputDataException e) {
-        log.warn("При обработке запроса возникло исключение: " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    private static boolean isExclusionViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
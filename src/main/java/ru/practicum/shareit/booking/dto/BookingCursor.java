@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Позиция в списке бронирований для постраничного вывода по ключу: {@code start,id} последнего
+ * полученного бронирования.
+ */
+@Data
+@AllArgsConstructor
+public class BookingCursor {
+    private LocalDateTime start;
+    private int id;
+
+    public static BookingCursor parse(String after) {
+        int separator = after.lastIndexOf(',');
+        if (separator < 0) {
+            throw new ValidationException("Некорректный курсор: " + after);
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(after.substring(0, separator).trim()),
+                    Integer.parseInt(after.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ValidationException("Некорректный курсор: " + after);
+        }
+    }
+}
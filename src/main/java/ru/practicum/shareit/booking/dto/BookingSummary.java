@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public interface BookingSummary {
+    int getId();
+
+    int getItemId();
+
+    int getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
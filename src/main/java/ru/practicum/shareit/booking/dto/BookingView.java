@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская проекция бронирования для списков: только колонки, нужные {@link BookingDto}.
+ * Создаётся конструктором прямо в запросе и не попадает в контекст персистентности.
+ */
+@Data
+@AllArgsConstructor
+public class BookingView {
+    private int id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private int itemId;
+    private String itemName;
+    private String itemDescription;
+    private Boolean itemAvailable;
+    private int bookerId;
+    private String bookerName;
+    private String bookerEmail;
+}
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoItem;
 import ru.practicum.shareit.booking.dto.BookingDtoUser;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.CreatedBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
@@ -34,6 +35,18 @@ public class BookingMapper {
                 .build();
     }
 
+    public BookingDto toBookingDto(BookingView view) {
+        return BookingDto.builder()
+                .id(view.getId())
+                .start(view.getStart())
+                .end(view.getEnd())
+                .item(new BookingDtoItem(view.getItemId(), view.getItemName(), view.getItemDescription(),
+                        Boolean.TRUE.equals(view.getItemAvailable())))
+                .booker(new BookingDtoUser(view.getBookerId(), view.getBookerName(), view.getBookerEmail()))
+                .status(view.getStatus())
+                .build();
+    }
+
     public Booking toBooking(CreatedBookingDto bookingDto) {
         return Booking.builder()
                 .id(bookingDto.getId())
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private int id;
     @ManyToOne
     @JoinColumn(name = "item_id")
@@ -33,6 +34,8 @@ public class Booking {
     @ManyToOne
     @JoinColumn(name = "booker_id")
     private User booker;
+    @Column(name = "owner_id")
+    private Integer ownerId;
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 }
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.List;
+
+final class BookingPredicates {
+    private BookingPredicates() {
+    }
+
+    static void addState(CriteriaBuilder builder, Root<Booking> booking, BookingState state,
+                         List<Predicate> predicates) {
+        LocalDateTime now = LocalDateTime.now();
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        switch (state) {
+            case CURRENT:
+                predicates.add(builder.lessThan(start, now));
+                predicates.add(builder.greaterThan(end, now));
+                break;
+            case PAST:
+                predicates.add(builder.lessThan(end, now));
+                break;
+            case FUTURE:
+                predicates.add(builder.greaterThan(start, now));
+                break;
+            case WAITING:
+                predicates.add(builder.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(builder.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            default:
+                break;
+        }
+    }
+
+    static Predicate after(CriteriaBuilder builder, Root<Booking> booking, BookingCursor after) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Integer> id = booking.get("id");
+        return builder.or(
+                builder.lessThan(start, after.getStart()),
+                builder.and(builder.equal(start, after.getStart()), builder.lessThan(id, after.getId())));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking.repository;
+
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.dto.BookingSummary;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Неблокирующие двойники списочных запросов {@link BookingRepository}: та же семантика состояний,
+ * что и в {@code BookingPredicates}, та же сортировка (начало по убыванию, затем id по убыванию).
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingReactiveRepository {
+
+    private static final String SELECT_VIEWS = "select b.id, b.date_from, b.date_to, b.status,"
+            + " i.id as item_id, i.name as item_name, i.description as item_description,"
+            + " i.available as item_available, u.id as booker_id, u.name as booker_name, u.email as booker_email"
+            + " from bookings b join items i on i.id = b.item_id join users u on u.id = b.booker_id";
+    private static final String ORDER_AND_PAGE = " order by b.date_from desc, b.id desc limit :limit offset :offset";
+    private static final String SELECT_SUMMARY = "select b.id, b.item_id, b.booker_id, b.date_from, b.date_to"
+            + " from bookings b where b.item_id in (:itemIds) and b.status = :status"
+            + " and (b.date_to = (select min(f.date_to) from bookings f where f.item_id = b.item_id"
+            + " and f.status = :status)"
+            + " or b.date_to = (select max(l.date_to) from bookings l where l.item_id = b.item_id"
+            + " and l.status = :status))";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<BookingView> findViewsByBookerId(int bookerId, BookingState state, int offset, int size) {
+        return findViews("b.booker_id", bookerId, state, offset, size);
+    }
+
+    public Flux<BookingView> findViewsByOwnerId(int ownerId, BookingState state, int offset, int size) {
+        return findViews("b.owner_id", ownerId, state, offset, size);
+    }
+
+    public Flux<BookingSummary> findBookingSummaryByItemIds(Collection<Integer> itemIds, BookingStatus status) {
+        if (itemIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql(SELECT_SUMMARY)
+                .bind("itemIds", itemIds)
+                .bind("status", status.name())
+                .map(row -> (BookingSummary) new Summary(
+                        row.get("id", Integer.class),
+                        row.get("item_id", Integer.class),
+                        row.get("booker_id", Integer.class),
+                        row.get("date_from", LocalDateTime.class),
+                        row.get("date_to", LocalDateTime.class)))
+                .all();
+    }
+
+    private Flux<BookingView> findViews(String userColumn, int userId, BookingState state, int offset, int size) {
+        StringBuilder sql = new StringBuilder(SELECT_VIEWS).append(" where ").append(userColumn).append(" = :userId");
+        switch (state) {
+            case CURRENT:
+                sql.append(" and b.date_from < :now and b.date_to > :now");
+                break;
+            case PAST:
+                sql.append(" and b.date_to < :now");
+                break;
+            case FUTURE:
+                sql.append(" and b.date_from > :now");
+                break;
+            case WAITING:
+            case REJECTED:
+                sql.append(" and b.status = :status");
+                break;
+            default:
+                break;
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.append(ORDER_AND_PAGE).toString())
+                .bind("userId", userId)
+                .bind("limit", size)
+                .bind("offset", offset);
+        if (state == BookingState.CURRENT || state == BookingState.PAST || state == BookingState.FUTURE) {
+            spec = spec.bind("now", LocalDateTime.now());
+        } else if (state == BookingState.WAITING || state == BookingState.REJECTED) {
+            spec = spec.bind("status", state.name());
+        }
+        return spec.map(this::toView).all();
+    }
+
+    private BookingView toView(Row row) {
+        return new BookingView(
+                row.get("id", Integer.class),
+                row.get("date_from", LocalDateTime.class),
+                row.get("date_to", LocalDateTime.class),
+                BookingStatus.valueOf(row.get("status", String.class)),
+                row.get("item_id", Integer.class),
+                row.get("item_name", String.class),
+                row.get("item_description", String.class),
+                row.get("item_available", Boolean.class),
+                row.get("booker_id", Integer.class),
+                row.get("booker_name", String.class),
+                row.get("booker_email", String.class));
+    }
+
+    @Value
+    private static class Summary implements BookingSummary {
+        int id;
+        int itemId;
+        int bookerId;
+        LocalDateTime start;
+        LocalDateTime end;
+    }
+}
@@ -1,51 +1,57 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingSummary;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    List<Booking> findAllByBookerId(int userId, Pageable page);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
 
-    List<Booking> findAllByItemOwnerId(int userId, Pageable page);
-
-    List<Booking> findAllByBookerIdAndEndIsBefore(int bookerId, LocalDateTime end,  Pageable page);
-
-    List<Booking> findAllByBookerIdAndStatus(int bookerId, BookingStatus status,  Pageable page);
-
-    List<Booking> findAllByItemOwnerIdAndEndIsBefore(int bookerId, LocalDateTime end, Pageable page);
-
-    List<Booking> findAllByItemOwnerIdAndStatus(int bookerId, BookingStatus status, Pageable page);
-
-    Optional<Booking> findFirstByItemIdAndStatusOrderByEnd(int itemId, BookingStatus status);
-
-    Optional<Booking> findFirstByItemIdAndStatusOrderByEndDesc(int itemId, BookingStatus status);
-
-    List<Booking> findAllByItemOwnerIdAndStartIsAfter(int bookerId, LocalDateTime start, Pageable page);
-
-    Optional<Booking> findFirstByBookerIdAndItemIdAndStatusAndStartBefore(int userId, int itemId,
-                                                                          BookingStatus status, LocalDateTime now);
-
-    List<Booking> findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(int bookerId,
-                                                                    LocalDateTime end,
-                                                                    LocalDateTime start,
-                                                                    Pageable page);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingViewRepository {
+    @Query("select count(b) > 0 " +
+            "from Booking b " +
+            "where b.booker.id = :bookerId and b.item.id = :itemId and b.status = :status and b.start < :before")
+    boolean existsByBookerIdAndItemIdAndStatusAndStartBefore(int bookerId, int itemId, BookingStatus status,
+                                                             LocalDateTime before);
+
+    /**
+     * Решающая проверка при создании бронирования, выполняется под блокировкой строки вещи. Не сбрасывает
+     * отложенные вставки: пересечения внутри одного пакета проверяет сам сервис.
+     */
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select count(b) > 0 " +
+            "from Booking b " +
+            "where b.item.id = :itemId and b.status in :statuses" +
+            " and b.start < :end and b.end > :start")
+    boolean existsOverlapping(int itemId, LocalDateTime start, LocalDateTime end,
+                              Collection<BookingStatus> statuses);
 
-    @Query("select b " +
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, b.start as start, b.end as end " +
             "from Booking b " +
-            "where b.booker.id = :bookerId and current_timestamp > b.start" +
-            " and current_timestamp < b.end")
-    List<Booking> findForBookerCurrent(int bookerId, Pageable page);
+            "where b.item.id = :itemId and b.status in :statuses and b.end > :after")
+    List<BookingSummary> findTimelineByItemId(int itemId, Collection<BookingStatus> statuses, LocalDateTime after);
 
-    @Query("select b " +
+    @Query("select b.id as id, b.item.id as itemId, b.booker.id as bookerId, b.start as start, b.end as end " +
             "from Booking b " +
-            "where b.booker.id = :id and b.start > current_timestamp " +
-            "order by b.start desc")
-    List<Booking> findAllByBookerAndFutureState(int id, Pageable page);
+            "where b.item.id in :itemIds and b.status = :status" +
+            " and (b.end = (select min(f.end) from Booking f where f.item.id = b.item.id and f.status = :status)" +
+            " or b.end = (select max(l.end) from Booking l where l.item.id = b.item.id and l.status = :status))")
+    List<BookingSummary> findBookingSummaryByItemIds(Collection<Integer> itemIds, BookingStatus status);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.booking.dto.BookingView(b.id, b.start, b.end, b.status," +
+            " i.id, i.name, i.description, i.available, u.id, u.name, u.email)" +
+            " from Booking b join b.item i join b.booker u" +
+            " order by b.id")
+    Stream<BookingView> streamAllViews();
 }
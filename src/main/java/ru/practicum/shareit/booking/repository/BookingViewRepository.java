@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.util.List;
+
+public interface BookingViewRepository {
+
+    /**
+     * Страница бронирований пользователя в порядке {@code start desc, id desc}. Если курсор {@code after}
+     * задан, выборка идёт после него, иначе пропускается {@code from} записей.
+     */
+    List<BookingView> findViewsByBookerId(int bookerId, BookingState state, BookingCursor after, int from, int size);
+
+    List<BookingView> findViewsByOwnerId(int ownerId, BookingState state, BookingCursor after, int from, int size);
+}
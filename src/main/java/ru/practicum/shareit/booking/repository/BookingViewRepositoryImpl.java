@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Списки бронирований без загрузки сущностей: запрос выбирает только колонки {@link BookingView}
+ * через конструкторную проекцию, поэтому Hibernate не создаёт Item/User и не отслеживает результат.
+ */
+@RequiredArgsConstructor
+public class BookingViewRepositoryImpl implements BookingViewRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findViewsByBookerId(int bookerId, BookingState state, BookingCursor after,
+                                                 int from, int size) {
+        return findViews(false, bookerId, state, after, from, size);
+    }
+
+    @Override
+    public List<BookingView> findViewsByOwnerId(int ownerId, BookingState state, BookingCursor after,
+                                                int from, int size) {
+        return findViews(true, ownerId, state, after, from, size);
+    }
+
+    private List<BookingView> findViews(boolean byOwner, int userId, BookingState state, BookingCursor after,
+                                        int from, int size) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = builder.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(byOwner
+                ? builder.equal(booking.get("ownerId"), userId)
+                : builder.equal(booking.get("booker").get("id"), userId));
+        if (after != null) {
+            predicates.add(BookingPredicates.after(builder, booking, after));
+        }
+        BookingPredicates.addState(builder, booking, state, predicates);
+
+        query.select(builder.construct(BookingView.class,
+                        booking.get("id"),
+                        booking.get("start"),
+                        booking.get("end"),
+                        booking.get("status"),
+                        item.get("id"),
+                        item.get("name"),
+                        item.get("description"),
+                        item.get("available"),
+                        booker.get("id"),
+                        booker.get("name"),
+                        booker.get("email")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.desc(booking.get("start")), builder.desc(booking.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(after == null ? from : 0)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
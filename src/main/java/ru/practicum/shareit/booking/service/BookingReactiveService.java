@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingReactiveRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.UserReactiveService;
+
+import java.util.Arrays;
+
+/**
+ * Неблокирующее чтение списков бронирований через R2DBC. Параметры проверяются сразу, до подписки,
+ * поэтому ошибки ввода отдаются обычным ответом 400, а не обрывают поток.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingReactiveService {
+
+    private final BookingReactiveRepository bookingReactiveRepository;
+    private final UserReactiveService userReactiveService;
+
+    public Flux<BookingView> findViewsByBookerId(int userId, String state, int from, int size) {
+        BookingState bookingState = toBookingState(state);
+        checkPage(from, size);
+        return userReactiveService.isContainsUser(userId)
+                .thenMany(bookingReactiveRepository.findViewsByBookerId(userId, bookingState, from / size * size,
+                        size));
+    }
+
+    public Flux<BookingView> findViewsByOwnerId(int userId, String state, int from, int size) {
+        BookingState bookingState = toBookingState(state);
+        checkPage(from, size);
+        return userReactiveService.isContainsUser(userId)
+                .thenMany(bookingReactiveRepository.findViewsByOwnerId(userId, bookingState, from / size * size,
+                        size));
+    }
+
+    private BookingState toBookingState(String state) {
+        return Arrays.stream(BookingState.values())
+                .filter(value -> value.name().equals(state))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Unknown state: " + state));
+    }
+
+    private void checkPage(int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Размер страницы не соответствует исходным данным");
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
     Booking createBooking(int userId, Booking booking);
 
+    List<Booking> createBookings(int userId, List<Booking> bookings);
+
     Booking setApproved(int userId, int bookingId, boolean approved);
 
     Booking findBookingById(int userId, int bookingId);
 
-    Collection<Booking> findAllByBookerId(int userId, String state, int from, int size);
+    Collection<BookingView> findViewsByBookerId(int userId, String state, String after, int from, int size);
 
-    Collection<Booking> findAllByOwnerId(int userId, String state, int from, int size);
+    Collection<BookingView> findViewsByOwnerId(int userId, String state, String after, int from, int size);
 
     void checkBookingState(String result);
 }
@@ -2,9 +2,10 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -19,9 +20,14 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
+@Transactional(readOnly = true)
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService, PageTool {
@@ -29,13 +35,41 @@ public class BookingServiceImpl implements BookingService, PageTool {
     private final UserService userService;
     private final BookingRepository bookingRepository;
     private final ItemMapper itemMapper;
+    private final ItemAvailabilityIndex availabilityIndex;
 
     @Override
+    @Transactional
     public Booking createBooking(int userId, Booking booking) {
-        LocalDateTime currentDateTime = LocalDateTime.now();
         userService.isContainsUser(userId);
-        int itemId = booking.getItem().getId();
-        Item item = itemService.getItemById(itemId, userId);
+        Item item = itemService.getItemForBooking(booking.getItem().getId());
+        return book(userId, booking, item, LocalDateTime.now(), List.of());
+    }
+
+    @Override
+    @Transactional
+    public List<Booking> createBookings(int userId, List<Booking> bookings) {
+        userService.isContainsUser(userId);
+        LocalDateTime currentDateTime = LocalDateTime.now();
+        Map<Integer, Item> items = new HashMap<>();
+        bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .sorted()
+                .forEach(itemId -> items.put(itemId, itemService.getItemForBooking(itemId)));
+        List<Booking> accepted = new ArrayList<>();
+        for (Booking booking : bookings) {
+            accepted.add(book(userId, booking, items.get(booking.getItem().getId()), currentDateTime, accepted));
+        }
+        return accepted;
+    }
+
+    /**
+     * Проверяет и сохраняет бронирование заблокированной вещи. При id из последовательности save() только
+     * ставит вставку в очередь, сама вставка выполняется при flush, поэтому пересечения с бронированиями
+     * того же пакета ({@code accepted}) проверяются в памяти, а с остальными — запросом к БД.
+     */
+    private Booking book(int userId, Booking booking, Item item, LocalDateTime currentDateTime,
+                         Collection<Booking> accepted) {
         if (!item.getAvailable()) {
             throw new ValidationException("Вещь не свободна.");
         }
@@ -46,14 +80,26 @@ public class BookingServiceImpl implements BookingService, PageTool {
                 || booking.getEnd().isBefore(booking.getStart())) {
             throw new ValidationException("Ошибка во входных данных по дате");
         }
+        boolean free = accepted.stream().noneMatch(other -> other.getItem().getId() == item.getId()
+                && other.getStart().isBefore(booking.getEnd()) && other.getEnd().isAfter(booking.getStart()))
+                && !bookingRepository.existsOverlapping(item.getId(), booking.getStart(), booking.getEnd(),
+                ItemAvailabilityIndex.OCCUPYING_STATUSES);
+        availabilityIndex.verify(item.getId(), booking.getStart(), booking.getEnd(), free);
+        if (!free) {
+            throw new ValidationException("Вещь уже забронирована на эти даты");
+        }
 
         booking.setBooker(new User(userId, null, null));
         booking.setItem(item);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setStatus(BookingStatus.WAITING);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        availabilityIndex.occupy(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Booking setApproved(int userId, int bookingId, boolean approved) {
         Booking booking = findBookingById(userId, bookingId);
         if (booking.getStatus() != BookingStatus.WAITING) {
@@ -63,7 +109,11 @@ public class BookingServiceImpl implements BookingService, PageTool {
             throw new InputDataException("Пользователь не может меня статус");
         }
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        if (!approved) {
+            availabilityIndex.release(saved);
+        }
+        return saved;
     }
 
     @Override
@@ -78,71 +128,21 @@ public class BookingServiceImpl implements BookingService, PageTool {
     }
 
     @Override
-    public Collection<Booking> findAllByOwnerId(int userId, String state, int from, int size) {
-        LocalDateTime currentDateTime = LocalDateTime.now();
+    public Collection<BookingView> findViewsByBookerId(int userId, String state, String after, int from, int size) {
         userService.isContainsUser(userId);
         checkBookingState(state);
-        if (from < 0) {
-            throw new ValidationException("Размер страницы не соответствует исходным данным");
-        }
-        Pageable page = getPage(from, size, "start", Sort.Direction.DESC);
-
-        Collection<Booking> result = null;
-        switch (state) {
-            case "ALL":
-                result = bookingRepository.findAllByItemOwnerId(userId, page);
-                break;
-            case "CURRENT":
-                result = bookingRepository.findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(userId, currentDateTime,
-                        currentDateTime, page);
-                break;
-            case "PAST":
-                result = bookingRepository.findAllByItemOwnerIdAndEndIsBefore(userId, currentDateTime, page);
-                break;
-            case "FUTURE":
-                result = bookingRepository.findAllByItemOwnerIdAndStartIsAfter(userId, currentDateTime, page);
-                break;
-            case "WAITING":
-                result = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, page);
-                break;
-            case "REJECTED":
-                result = bookingRepository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, page);
-                break;
-        }
-        return result;
+        checkPage(from, size);
+        return bookingRepository.findViewsByBookerId(userId, BookingState.valueOf(state),
+                after == null ? null : BookingCursor.parse(after), from / size * size, size);
     }
 
     @Override
-    public Collection<Booking> findAllByBookerId(int userId, String state, int from, int size) {
+    public Collection<BookingView> findViewsByOwnerId(int userId, String state, String after, int from, int size) {
         userService.isContainsUser(userId);
         checkBookingState(state);
-        Collection<Booking> result = null;
-        if (from < 0) {
-            throw new ValidationException("Размер страницы не соответствует исходным данным");
-        }
-        Pageable page = getPage(from, size, "start", Sort.Direction.DESC);
-
-        switch (state) {
-            case "ALL":
-                result = bookingRepository.findAllByBookerId(userId, page);
-                break;
-            case "CURRENT":
-                result = bookingRepository.findForBookerCurrent(userId, page);
-                break;
-            case "PAST":
-                result = bookingRepository.findAllByBookerIdAndEndIsBefore(userId, LocalDateTime.now(), page);
-                break;
-            case "FUTURE":
-                result = bookingRepository.findAllByBookerAndFutureState(userId, page);
-                break;
-            case "WAITING":
-                result = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, page);
-                break;
-            case "REJECTED":
-                result = bookingRepository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, page);
-                break;
-        }
-        return result;
+        checkPage(from, size);
+        return bookingRepository.findViewsByOwnerId(userId, BookingState.valueOf(state),
+                after == null ? null : BookingCursor.parse(after), from / size * size, size);
     }
 
     @Override
@@ -159,4 +159,17 @@ public class BookingServiceImpl implements BookingService, PageTool {
             throw new ValidationException("Unknown state: " + result);
         }
     }
+
+    private void checkPage(int from, int size) {
+        if (from < 0) {
+            throw new ValidationException("Размер страницы не соответствует исходным данным");
+        }
+        checkPageSize(size);
+    }
+
+    private void checkPageSize(int size) {
+        if (size <= 0) {
+            throw new ValidationException("Размер страницы не соответствует исходным данным");
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingSummary;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Занятые интервалы вещей (бронирования в статусах WAITING и APPROVED, которые ещё не закончились),
+ * упорядоченные по началу. Проверка пересечения просматривает интервалы, начавшиеся раньше конца
+ * запрошенного; в линии времени только незакончившиеся бронирования, так что их немного.
+ * <p>
+ * Индекс локален для узла и не видит записей в обход {@link BookingServiceImpl} (другие узлы, прямые
+ * изменения в БД), поэтому только подсказывает: отвечает маршруту доступности и служит предварительным
+ * фильтром. Решение о создании бронирования принимает запрос пересечений под блокировкой строки вещи,
+ * а при расхождении с ним линия времени вещи сбрасывается ({@link #verify}). Линии времени живут не дольше
+ * {@code shareit.availability.ttl}, число вещей в кэше ограничено, давно не использовавшиеся вытесняются.
+ */
+@Slf4j
+@Component
+public class ItemAvailabilityIndex {
+    static final Set<BookingStatus> OCCUPYING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Duration ttl;
+    private final Map<Integer, Timeline> timelines;
+
+    public ItemAvailabilityIndex(BookingRepository bookingRepository,
+                                 @Value("${shareit.availability.max-items:10000}") int maxItems,
+                                 @Value("${shareit.availability.ttl:1m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.ttl = ttl;
+        this.timelines = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Timeline> eldest) {
+                return size() > maxItems;
+            }
+        });
+    }
+
+    /**
+     * Проверка по кэшу; если линии времени вещи нет или она устарела, она загружается из БД.
+     */
+    public boolean isFree(int itemId, LocalDateTime start, LocalDateTime end) {
+        Timeline timeline = cached(itemId);
+        if (timeline == null) {
+            timeline = load(itemId);
+            timelines.put(itemId, timeline);
+        }
+        return timeline.isFree(start, end);
+    }
+
+    /**
+     * Сверяет кэш с ответом БД, полученным под блокировкой вещи. Расходящаяся линия времени сбрасывается,
+     * следующий запрос загрузит её заново.
+     */
+    public void verify(int itemId, LocalDateTime start, LocalDateTime end, boolean free) {
+        Timeline timeline = cached(itemId);
+        if (timeline != null && timeline.isFree(start, end) != free) {
+            log.debug("Линия времени вещи {} расходится с БД и сброшена", itemId);
+            evict(itemId);
+        }
+    }
+
+    public void occupy(Booking booking) {
+        int itemId = booking.getItem().getId();
+        Timeline timeline = timelines.get(itemId);
+        if (timeline == null) {
+            return;
+        }
+        timeline.add(booking.getId(), booking.getStart(), booking.getEnd());
+        evictOnRollback(itemId);
+    }
+
+    public void release(Booking booking) {
+        int itemId = booking.getItem().getId();
+        Timeline timeline = timelines.get(itemId);
+        if (timeline == null) {
+            return;
+        }
+        timeline.remove(booking.getId(), booking.getStart());
+        evictOnRollback(itemId);
+    }
+
+    public void evict(int itemId) {
+        timelines.remove(itemId);
+    }
+
+    private void evictOnRollback(int itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        evict(itemId);
+                    }
+                }
+            });
+        }
+    }
+
+    private Timeline cached(int itemId) {
+        Timeline timeline = timelines.get(itemId);
+        if (timeline != null && timeline.loadedAt.plus(ttl).isBefore(LocalDateTime.now())) {
+            timelines.remove(itemId, timeline);
+            return null;
+        }
+        return timeline;
+    }
+
+    private Timeline load(int itemId) {
+        List<BookingSummary> bookings = bookingRepository.findTimelineByItemId(itemId, OCCUPYING_STATUSES,
+                LocalDateTime.now());
+        Timeline timeline = new Timeline();
+        for (BookingSummary booking : bookings) {
+            timeline.add(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+        log.debug("Загружена линия времени вещи {}: {} интервалов", itemId, bookings.size());
+        return timeline;
+    }
+
+    private static class Timeline {
+        private static final Comparator<Key> ORDER = Comparator.<Key, LocalDateTime>comparing(key -> key.start)
+                .thenComparingInt(key -> key.bookingId);
+
+        private final LocalDateTime loadedAt = LocalDateTime.now();
+        /**
+         * Начало и id бронирования — конец бронирования. Интервалы могут пересекаться и вкладываться друг
+         * в друга, ключи с одинаковым началом различаются по id.
+         */
+        private final TreeMap<Key, LocalDateTime> intervals = new TreeMap<>(ORDER);
+
+        synchronized boolean isFree(LocalDateTime start, LocalDateTime end) {
+            // интервалы, начавшиеся раньше end; Integer.MIN_VALUE — чтобы не захватить начало в end.
+            // Более ранний и длинный интервал может накрыть [start, end), поэтому последнего мало
+            for (LocalDateTime occupiedUntil : intervals.headMap(new Key(end, Integer.MIN_VALUE), false)
+                    .values()) {
+                if (occupiedUntil.isAfter(start)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void add(int bookingId, LocalDateTime start, LocalDateTime end) {
+            LocalDateTime now = LocalDateTime.now();
+            while (!intervals.isEmpty() && intervals.firstEntry().getValue().isBefore(now)) {
+                intervals.pollFirstEntry();
+            }
+            intervals.put(new Key(start, bookingId), end);
+        }
+
+        synchronized void remove(int bookingId, LocalDateTime start) {
+            intervals.remove(new Key(start, bookingId));
+        }
+    }
+
+    private static class Key {
+        private final LocalDateTime start;
+        private final int bookingId;
+
+        Key(LocalDateTime start, int bookingId) {
+            this.start = start;
+            this.bookingId = bookingId;
+        }
+    }
+}
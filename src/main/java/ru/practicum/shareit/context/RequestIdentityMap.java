@@ -0,0 +1,106 @@
+package ru.practicum.shareit.context;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Id сущностей, загруженных в рамках текущего HTTP-запроса. Сами сущности хранит контекст персистентности
+ * (open-in-view), и повторный {@code findById} к БД не идёт, а {@code existsById} выполняет запрос всегда:
+ * проверку существования уже загруженной сущности можно ответить отсюда. Вне запроса (тесты, фоновые
+ * задачи) id не запоминаются.
+ * <p>
+ * Метрика {@code shareit.identity.map.lookups} с тегами {@code entity}, {@code result} (hit/miss) и
+ * {@code endpoint} считает только проверки {@link #contains}: число hit равно числу пропущенных запросов к БД.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestIdentityMap {
+    private static final String ATTRIBUTE = RequestIdentityMap.class.getName();
+
+    private final MeterRegistry meterRegistry;
+
+    public void remember(Class<?> type, int id) {
+        Set<Key> ids = ids();
+        if (ids != null) {
+            ids.add(new Key(type, id));
+        }
+    }
+
+    public boolean contains(Class<?> type, int id) {
+        Set<Key> ids = ids();
+        if (ids == null) {
+            return false;
+        }
+        boolean contains = ids.contains(new Key(type, id));
+        count(type, contains ? "hit" : "miss");
+        return contains;
+    }
+
+    public void forget(Class<?> type, int id) {
+        Set<Key> ids = ids();
+        if (ids != null) {
+            ids.remove(new Key(type, id));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Key> ids() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Set<Key> ids = (Set<Key>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (ids == null) {
+            ids = new HashSet<>();
+            attributes.setAttribute(ATTRIBUTE, ids, RequestAttributes.SCOPE_REQUEST);
+        }
+        return ids;
+    }
+
+    private void count(Class<?> type, String result) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes == null ? null
+                : attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        meterRegistry.counter("shareit.identity.map.lookups",
+                        "entity", type.getSimpleName(),
+                        "result", result,
+                        "endpoint", pattern == null ? "unknown" : pattern.toString())
+                .increment();
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final int id;
+
+        private Key(Class<?> type, int id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return id == key.id && type.equals(key.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.Optional;
+
+/**
+ * Неблокирующее чтение для потоковых маршрутов списков. Пул R2DBC-соединений создаётся здесь и наружу
+ * не публикуется: бин {@code ConnectionFactory} отключил бы автоконфигурацию JDBC и вместе с ней JPA.
+ * Адрес по умолчанию выводится из {@code spring.datasource.url}, логин и пароль совпадают с основными.
+ */
+@Configuration
+public class ReactiveDataSourceConfig implements DisposableBean {
+
+    private static final String JDBC_H2_MEM = "jdbc:h2:mem:";
+    private static final String JDBC = "jdbc:";
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(DataSourceProperties properties,
+                                                 @Value("${shareit.datasource.reactive.url:}") String url,
+                                                 @Value("${shareit.datasource.reactive.pool-size:20}") int poolSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions
+                .parse(url.isEmpty() ? toR2dbcUrl(properties.determineUrl()) : url)
+                .mutate();
+        Optional.ofNullable(properties.determineUsername())
+                .ifPresent(username -> options.option(ConnectionFactoryOptions.USER, username));
+        Optional.ofNullable(properties.determinePassword())
+                .ifPresent(password -> options.option(ConnectionFactoryOptions.PASSWORD, password));
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(0)
+                .maxSize(poolSize)
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    /**
+     * {@code jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1} → {@code r2dbc:h2:mem:///shareit?DB_CLOSE_DELAY=-1},
+     * для остальных баз достаточно заменить схему: {@code jdbc:postgresql://…} → {@code r2dbc:postgresql://…}.
+     */
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith(JDBC)) {
+            throw new IllegalStateException("Не удалось вывести адрес R2DBC из " + jdbcUrl
+                    + ", задайте shareit.datasource.reactive.url");
+        }
+        if (!jdbcUrl.startsWith(JDBC_H2_MEM)) {
+            return "r2dbc:" + jdbcUrl.substring(JDBC.length());
+        }
+        String[] parts = jdbcUrl.substring(JDBC_H2_MEM.length()).split(";", 2);
+        return "r2dbc:h2:mem:///" + parts[0] + (parts.length > 1 ? "?" + parts[1].replace(';', '&') : "");
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Отправляет соединения read-only транзакций на реплику, всё остальное — на основную БД.
+ * Должен быть обёрнут в {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * иначе соединение берётся до того, как транзакция помечена как read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Нарушение правила проверки входных данных: поле и описание ошибки.
+ */
+@Value
+public class Violation {
+    String field;
+    String message;
+
+    /**
+     * Добавляет нарушение в список, создавая его только при первой ошибке:
+     * корректные данные проверяются без выделения памяти.
+     */
+    public static List<Violation> append(List<Violation> violations, String field, String message) {
+        List<Violation> result = violations.isEmpty() ? new ArrayList<>(2) : violations;
+        result.add(new Violation(field, message));
+        return result;
+    }
+
+    public static List<Violation> none() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.export;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+public class ExportController {
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    @GetMapping(value = "/items", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        log.debug("Получен запрос к эндпоинту GET /export/items");
+        return ndjson(exportService::exportItems);
+    }
+
+    @GetMapping(value = "/bookings", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        log.debug("Получен запрос к эндпоинту GET /export/bookings");
+        return ndjson(exportService::exportBookings);
+    }
+
+    @GetMapping(value = "/comments", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportComments() {
+        log.debug("Получен запрос к эндпоинту GET /export/comments");
+        return ndjson(exportService::exportComments);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
+}
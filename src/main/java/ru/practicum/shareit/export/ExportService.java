@@ -0,0 +1,89 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Выгрузка таблиц в NDJSON. Строки читаются курсором ({@code Stream} с fetch size) в read-only транзакции
+ * и сразу пишутся в ответ, проекции не попадают в контекст персистентности, поэтому расход памяти
+ * не зависит от размера таблицы.
+ */
+@Slf4j
+@Service
+public class ExportService {
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(ItemRepository itemRepository, BookingRepository bookingRepository,
+                         CommentRepository commentRepository, UserRepository userRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public long exportItems(OutputStream out) {
+        return export("items", itemRepository::streamAllViews, out);
+    }
+
+    public long exportBookings(OutputStream out) {
+        return export("bookings", bookingRepository::streamAllViews, out);
+    }
+
+    public long exportComments(OutputStream out) {
+        return export("comments", commentRepository::streamAllViews, out);
+    }
+
+    public long exportUsers(OutputStream out) {
+        return export("users", userRepository::streamAllDtos, out);
+    }
+
+    private <T> long export(String table, Supplier<Stream<T>> rows, OutputStream out) {
+        Long count = transactionTemplate.execute(status -> {
+            long written = 0;
+            OutputStream buffered = new BufferedOutputStream(out);
+            try (Stream<T> stream = rows.get()) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    buffered.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    buffered.write('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        buffered.flush();
+                    }
+                }
+                buffered.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return written;
+        });
+        log.info("Выгружено {} строк из {}", count, table);
+        return count == null ? 0 : count;
+    }
+}
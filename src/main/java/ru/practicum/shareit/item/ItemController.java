@@ -2,20 +2,33 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportReport;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -29,27 +42,59 @@ public class ItemController {
     private final ItemService itemService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemImportService itemImportService;
+    private final ItemReactiveService itemReactiveService;
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
 
     @Autowired
-    public ItemController(ItemService itemService, ItemMapper itemMapper, CommentMapper commentMapper) {
+    public ItemController(ItemService itemService, ItemMapper itemMapper, CommentMapper commentMapper,
+                          ItemImportService itemImportService, ItemReactiveService itemReactiveService) {
         this.itemService = itemService;
         this.itemMapper = itemMapper;
         this.commentMapper = commentMapper;
+        this.itemImportService = itemImportService;
+        this.itemReactiveService = itemReactiveService;
     }
 
     @PostMapping
     public ResponseEntity<ItemDto> addItem(@RequestHeader(value = HEADER_USER_ID, required = false) Integer userId,
                                            @RequestBody ItemDto itemDto) {
-        log.info("Получен запрос к эндпоинту: POST /items");
+        log.debug("Получен запрос к эндпоинту: POST /items");
         Item itemCreated = itemService.addItem(itemMapper.fromItemDto(itemDto), userId);
         return new ResponseEntity<>(itemMapper.toItemDto(itemCreated), HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ItemDto>> addItems(@RequestHeader(value = HEADER_USER_ID, required = false) Integer userId,
+                                                  @RequestBody List<ItemDto> itemsDto) {
+        log.debug("Получен запрос к эндпоинту: POST /items/batch, {} вещей", itemsDto.size());
+        List<Item> items = itemService.addItems(itemsDto.stream()
+                .map(itemMapper::fromItemDto)
+                .collect(Collectors.toList()), userId);
+        return new ResponseEntity<>(items.stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList()), HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ItemImportReport importItems(@RequestHeader(HEADER_USER_ID) int userId,
+                                        HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        log.debug("Получен запрос к эндпоинту: POST /items/import, {}", contentType);
+        ItemImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? ItemImportService.Format.CSV
+                : ItemImportService.Format.NDJSON;
+        Reader body = new InputStreamReader(request.getInputStream(),
+                Optional.ofNullable(contentType.getCharset()).orElse(StandardCharsets.UTF_8));
+        return itemImportService.importItems(userId, body, format);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader(HEADER_USER_ID) int userId, @PathVariable int itemId,
                                  @RequestBody CommentDto commentDto) {
-        log.info("Получен запрос к эндпоинту: POST /{itemId}/comment");
+        log.debug("Получен запрос к эндпоинту: POST /{itemId}/comment");
         Comment comment = itemService.addComment(userId, itemId, commentMapper.toComment(commentDto));
         return commentMapper.toCommentDto(comment);
     }
@@ -58,17 +103,25 @@ public class ItemController {
     public Collection<ItemDto> getAllItemByUserId(@RequestHeader(value = HEADER_USER_ID, required = false) Integer userId,
                                                   @RequestParam(defaultValue = "0") int from,
                                                   @RequestParam(defaultValue = "20") int size) {
-        log.info("Получен запрос к эндпоинту: GET /items, user id = " + userId);
-        return itemService.getItemsByUserId(userId, from, size)
-                .stream()
-                .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+        log.debug("Получен запрос к эндпоинту: GET /items, user id = {}", userId);
+        return itemService.getItemDtosByUserId(userId, from, size);
+    }
+
+    /**
+     * Вещи владельца потоком NDJSON (по запросу с {@code Accept: application/x-ndjson}), чтение через R2DBC.
+     */
+    @GetMapping(produces = APPLICATION_NDJSON)
+    public Flux<ItemDto> streamAllItemByUserId(@RequestHeader(HEADER_USER_ID) int userId,
+                                               @RequestParam(defaultValue = "0") int from,
+                                               @RequestParam(defaultValue = "20") int size) {
+        log.debug("Получен запрос к эндпоинту: GET /items (поток), user id = {}", userId);
+        return itemReactiveService.getItemDtosByUserId(userId, from, size);
     }
 
     @GetMapping("/{id}")
     public ItemDto getItemById(@RequestHeader(value = HEADER_USER_ID, required = false) Integer userId,
                                @PathVariable("id") int itemId) {
-        log.info("Получен запрос к эндпоинту GET /items/{}", itemId);
+        log.debug("Получен запрос к эндпоинту GET /items/{}", itemId);
         Item item = itemService.getItemById(itemId, userId);
         return itemMapper.toItemDto(item);
     }
@@ -77,18 +130,23 @@ public class ItemController {
     public ResponseEntity<List<ItemDto>> getItemsBySubstring(@RequestParam String text,
                                                              @RequestParam(defaultValue = "0") int from,
                                                              @RequestParam(defaultValue = "20") int size) {
-        log.info("Получен запрос к эндпоинту GET /items/search " + text);
-        List<ItemDto> itemsDto = itemService.getItemsBySubString(text, from, size)
-                .stream()
-                .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
+        log.debug("Получен запрос к эндпоинту GET /items/search {}", text);
+        List<ItemDto> itemsDto = itemService.getItemDtosBySubString(text, from, size);
         return new ResponseEntity<>(itemsDto, HttpStatus.OK);
     }
 
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable("id") int itemId,
+                                               @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+        log.debug("Получен запрос к эндпоинту GET /items/{}/availability", itemId);
+        return new ItemAvailabilityDto(itemId, from, to, itemService.isAvailable(itemId, from, to));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<ItemDto> updateItem(@RequestHeader(value = HEADER_USER_ID, required = false) Integer userId,
                                            @RequestBody ItemDto itemDto, @PathVariable("id") int id) {
-        log.info("Получен запрос к эндпоинту PATCH /itemDto");
+        log.debug("Получен запрос к эндпоинту PATCH /itemDto");
         itemDto.setId(id);
         ItemDto itemFromDb = itemMapper.toItemDto(itemService.updateItem(itemDto, userId));
         return new ResponseEntity<>(itemFromDb, HttpStatus.OK);
@@ -96,25 +154,28 @@ public class ItemController {
 
     @DeleteMapping("/{id}")
     public void deleteItem(@PathVariable("id") int id) {
-        log.info("Получен запрос к эндпоинту: DELETE /item");
+        log.debug("Получен запрос к эндпоинту: DELETE /item");
         itemService.deleteItem(id);
     }
 
     @ExceptionHandler
     public ResponseEntity<ValidationException> handleIncorrectValidation(ValidationException exception) {
-        log.warn("При обработке запроса возникло исключение: " + exception.getMessage());
-        return new ResponseEntity<>(exception, HttpStatus.BAD_REQUEST);
+        log.warn("При обработке запроса возникло исключение: {}", exception.getMessage());
+        // JSON явно: потоковый маршрут принимает только application/x-ndjson
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(exception);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleException(Exception e) {
-        log.warn("При обработке запроса возникло исключение " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleNotFoundException(InputDataException e) {
-        log.warn("При обработке запроса возникло исключение: " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 
@@ -0,0 +1,243 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.InputDataException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.exception.Violation;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportReport;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.validate.ValidateItemData;
+import ru.practicum.shareit.requests.ItemRequestService;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый импорт вещей одного владельца из CSV ({@code name,description,available[,requestId]}) или NDJSON
+ * (объекты {@link ItemDto} по одному на строку). Тело читается построчно, строки проверяются по одной,
+ * корректные сохраняются пачками по {@code shareit.import.chunk-size} в отдельных транзакциях, после каждой
+ * пачки контекст персистентности очищается. Память не зависит от размера файла.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final ItemRequestService itemRequestService;
+    private final ValidateItemData validateItemData;
+    private final ItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ItemImportService(ItemRepository itemRepository, UserService userService,
+                             ItemRequestService itemRequestService, ValidateItemData validateItemData,
+                             ItemMapper itemMapper, ObjectMapper objectMapper, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${shareit.import.chunk-size:500}") int chunkSize,
+                             @Value("${shareit.import.max-errors:1000}") int maxErrors) {
+        this.itemRepository = itemRepository;
+        this.userService = userService;
+        this.itemRequestService = itemRequestService;
+        this.validateItemData = validateItemData;
+        this.itemMapper = itemMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ItemImportReport importItems(int userId, Reader body, Format format) throws IOException {
+        userService.isContainsUser(userId);
+        User owner = userService.getUser(userId);
+        ItemImportReport report = new ItemImportReport();
+        Set<Integer> knownRequests = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(body);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            try {
+                Item item = format == Format.CSV ? parseCsv(line) : parseJson(line);
+                checkItem(item, knownRequests);
+                item.setOwner(owner);
+                chunk.add(new Row(lineNumber, item));
+            } catch (ValidationException | InputDataException e) {
+                reject(report, lineNumber, e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                save(chunk, report);
+            }
+        }
+        save(chunk, report);
+        log.info("Импорт вещей пользователя {}: сохранено {}, отклонено {}", userId, report.getImported(),
+                report.getFailed());
+        return report;
+    }
+
+    private void checkItem(Item item, Set<Integer> knownRequests) {
+        List<Violation> violations = validateItemData.validate(item);
+        if (!violations.isEmpty()) {
+            throw new ValidationException("Ошибка во входных данных: " + violations.stream()
+                    .map(Violation::getMessage)
+                    .collect(Collectors.joining("; ")));
+        }
+        ItemRequest request = item.getRequest();
+        if (request != null && !knownRequests.contains(request.getId())) {
+            itemRequestService.checkItemRequestExistsById(request.getId());
+            knownRequests.add(request.getId());
+        }
+    }
+
+    /**
+     * Сохраняет пачку одной транзакцией. Если БД отклонила пачку (например, повтор названия вещи у владельца),
+     * строки сохраняются по одной, чтобы найти и описать виновные.
+     */
+    private void save(List<Row> chunk, ItemImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.forEach(row -> itemRepository.save(row.item));
+                itemRepository.flush();
+            });
+            report.setImported(report.getImported() + chunk.size());
+        } catch (DataIntegrityViolationException e) {
+            entityManager.clear();
+            for (Row row : chunk) {
+                row.item.setId(0);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> itemRepository.saveAndFlush(row.item));
+                    report.setImported(report.getImported() + 1);
+                } catch (DataIntegrityViolationException rowError) {
+                    reject(report, row.line, "Вещь нарушает ограничения БД (повтор названия у владельца?)");
+                }
+                entityManager.clear();
+            }
+        }
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private void reject(ItemImportReport report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(new ItemImportReport.RowError(line, message));
+        }
+    }
+
+    private Item parseJson(String line) {
+        try {
+            return itemMapper.fromItemDto(objectMapper.readValue(line, ItemDto.class));
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Item parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3 || fields.size() > 4) {
+            throw new ValidationException("Ожидается name,description,available[,requestId]");
+        }
+        String available = fields.get(2).trim();
+        if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            throw new ValidationException("Некорректное значение available: " + available);
+        }
+        ItemRequest request = null;
+        if (fields.size() == 4 && !fields.get(3).isBlank()) {
+            try {
+                request = new ItemRequest(Integer.parseInt(fields.get(3).trim()), null, null, null, null);
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Некорректный requestId: " + fields.get(3));
+            }
+        }
+        return Item.builder()
+                .name(fields.get(0))
+                .description(fields.get(1))
+                .available(Boolean.parseBoolean(available))
+                .request(request)
+                .build();
+    }
+
+    private boolean isCsvHeader(String line) {
+        return line.trim().toLowerCase().startsWith("name,");
+    }
+
+    /**
+     * Разбор одной строки CSV: поля в кавычках могут содержать запятые, кавычка внутри поля удваивается.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new ValidationException("Незакрытая кавычка в строке CSV");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class Row {
+        private final long line;
+        private final Item item;
+
+        Row(long line, Item item) {
+            this.line = line;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingSummary;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingReactiveRepository;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.repository.ItemReactiveRepository;
+import ru.practicum.shareit.user.UserReactiveService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Неблокирующая версия {@link ItemService#getItemDtosByUserId}: страница вещей, затем бронирования
+ * и отзывы к ней — два запроса, выполняемых параллельно.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemReactiveService {
+
+    private final ItemReactiveRepository itemReactiveRepository;
+    private final BookingReactiveRepository bookingReactiveRepository;
+    private final UserReactiveService userReactiveService;
+    private final ItemMapper itemMapper;
+
+    public Flux<ItemDto> getItemDtosByUserId(int userId, int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Ошибка во входных данных страницы");
+        }
+        return userReactiveService.isContainsUser(userId)
+                .thenMany(itemReactiveRepository.findViewsByOwnerId(userId, from / size * size, size))
+                .collectList()
+                .flatMapMany(items -> {
+                    Set<Integer> itemIds = items.stream().map(ItemView::getId).collect(Collectors.toSet());
+                    return Mono.zip(
+                                    bookingReactiveRepository
+                                            .findBookingSummaryByItemIds(itemIds, BookingStatus.APPROVED)
+                                            .collectMultimap(BookingSummary::getItemId),
+                                    itemReactiveRepository.findCommentsByItemIds(itemIds)
+                                            .collectMultimap(comment -> comment.getItem().getId()))
+                            .flatMapIterable(related -> toItemDtos(items, related.getT1(), related.getT2()));
+                });
+    }
+
+    private List<ItemDto> toItemDtos(List<ItemView> items, Map<Integer, Collection<BookingSummary>> bookings,
+                                     Map<Integer, Collection<Comment>> comments) {
+        return items.stream()
+                .map(item -> {
+                    Collection<BookingSummary> summary = bookings.getOrDefault(item.getId(), Collections.emptyList());
+                    return itemMapper.toItemDto(item,
+                            summary.stream().min(Comparator.comparing(BookingSummary::getEnd)).orElse(null),
+                            summary.stream().max(Comparator.comparing(BookingSummary::getEnd)).orElse(null),
+                            new ArrayList<>(comments.getOrDefault(item.getId(), Collections.emptyList())));
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -2,15 +2,18 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingSummary;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -23,14 +26,19 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
+@Transactional(readOnly = true)
 @Slf4j
 public class ItemService implements PageTool {
 
@@ -41,7 +49,12 @@ public class ItemService implements PageTool {
     private final CommentRepository commentRepository;
     private final ItemRequestService itemRequestService;
     private final ItemMapper itemMapper;
+    private final ItemAvailabilityIndex availabilityIndex;
 
+    @Value("${shareit.search.full-text:false}")
+    private boolean fullTextSearch;
+
+    @Transactional
     public Item addItem(Item item, Integer userId) {
         if (userId == null) {
             throw new ValidationException("Отсутствует id пользователя, создавший данную вещь");
@@ -53,7 +66,7 @@ public class ItemService implements PageTool {
             System.out.println(item.getRequest());
             itemRequestService.checkItemRequestExistsById(item.getRequest().getId());
         }
-        if (validateItemData.checkAllData(userId, item, userService)) {
+        if (validateItemData.checkAllData(userId, item)) {
             User user = userService.getUser(userId);
             item.setOwner(user);
             return itemRepository.save(item);
@@ -62,49 +75,102 @@ public class ItemService implements PageTool {
         }
     }
 
+    /**
+     * Сохраняет вещи одного владельца в одной транзакции. Идентификаторы берутся из последовательности
+     * пачками, поэтому вставки уходят в БД JDBC-батчами при коммите.
+     */
+    @Transactional
+    public List<Item> addItems(List<Item> items, Integer userId) {
+        if (userId == null) {
+            throw new ValidationException("Отсутствует id пользователя, создавший данную вещь");
+        }
+        if (!userService.isContainsUser(userId)) {
+            throw new InputDataException("Пользователь с id=" + userId + " не найден в БД");
+        }
+        User user = userService.getUser(userId);
+        for (Item item : items) {
+            if (item.getRequest() != null) {
+                itemRequestService.checkItemRequestExistsById(item.getRequest().getId());
+            }
+            if (!validateItemData.checkAllData(userId, item)) {
+                throw new ValidationException("Ошибка во входных данных");
+            }
+            item.setOwner(user);
+        }
+        return itemRepository.saveAll(items);
+    }
+
     public Item getItemById(int itemId, int userId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> new InputDataException(
-                "Вещь по id не найдена"));
+        Item item = getItem(itemId);
         if (item.getOwner().getId() == userId) {
             setBookings(item);
         }
+        setComments(List.of(item));
         return item;
     }
 
-    public Collection<Item> getItemsByUserId(int userId, int from, int size) {
+    public Item getItem(int itemId) {
+        return itemRepository.findById(itemId).orElseThrow(() -> new InputDataException(
+                "Вещь по id не найдена"));
+    }
+
+    @Transactional
+    public Item getItemForBooking(int itemId) {
+        return itemRepository.findByIdForUpdate(itemId).orElseThrow(() -> new InputDataException(
+                "Вещь по id не найдена"));
+    }
+
+    public List<ItemDto> getItemDtosByUserId(int userId, int from, int size) {
         userService.isContainsUser(userId);
-        Pageable page = getPage(from, size, "id", Sort.Direction.ASC);
-            return itemRepository.findAllByOwnerId(userId, page)
-                    .stream()
-                    .map(this::setBookings)
-                    .collect(Collectors.toList());
+        List<ItemView> items = itemRepository.findViewsByOwnerId(userId, getPage(from, size));
+        Map<Integer, List<BookingSummary>> bookings = findBookingSummary(items);
+        Map<Integer, List<Comment>> comments = findComments(items);
+        return items.stream()
+                .map(item -> {
+                    List<BookingSummary> summary = bookings.getOrDefault(item.getId(), Collections.emptyList());
+                    return itemMapper.toItemDto(item,
+                            summary.stream().min(Comparator.comparing(BookingSummary::getEnd)).orElse(null),
+                            summary.stream().max(Comparator.comparing(BookingSummary::getEnd)).orElse(null),
+                            comments.getOrDefault(item.getId(), Collections.emptyList()));
+                })
+                .collect(Collectors.toList());
     }
 
-    public List<Item> getItemsBySubString(String text, int from, int size) {
-        Pageable page = getPage(from, size, "id", Sort.Direction.ASC);
+    public List<ItemDto> getItemDtosBySubString(String text, int from, int size) {
         if (text.isEmpty()) {
             return Collections.emptyList();
+        }
+        List<ItemView> items;
+        if (fullTextSearch) {
+            String query = toSearchQuery(text);
+            if (query.isEmpty()) {
+                return Collections.emptyList();
+            }
+            items = itemRepository.searchViewsFullText(query, getPage(from, size));
         } else {
-            return itemRepository.search(text, page);
+            items = itemRepository.searchViews(text, getPage(from, size));
         }
+        Map<Integer, List<Comment>> comments = findComments(items);
+        return items.stream()
+                .map(item -> itemMapper.toItemDto(item, null, null,
+                        comments.getOrDefault(item.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
     }
 
-    public List<ItemDto> getAllItems(Integer userId, int from, int size) {
-        if (userId != null) {
-            return getItemsByUserId(userId, from, size)
-                    .stream()
-                    .map(itemMapper::toItemDto)
-                    .collect(Collectors.toList());
-        } else {
-            return itemRepository.findAll()
-                    .stream()
-                    .map(itemMapper::toItemDto)
-                    .collect(Collectors.toList());
+    public boolean isAvailable(int itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Ошибка во входных данных по дате");
         }
+        Item item = getItem(itemId);
+        if (!item.getAvailable() || from.isBefore(LocalDateTime.now())) {
+            return false;
+        }
+        return availabilityIndex.isFree(itemId, from, to);
     }
 
+    @Transactional
     public Item updateItem(ItemDto itemDto, Integer userId) {
-        Item itemFromDb = getItemById(itemDto.getId(), userId);
+        Item itemFromDb = getItem(itemDto.getId());
 
         if (itemFromDb.getOwner().getId() != userId) {
             throw new InputDataException("Id пользователя не совпадает с id создавшего вещь пользователя");
@@ -114,23 +180,30 @@ public class ItemService implements PageTool {
         Optional.ofNullable(itemDto.getDescription()).ifPresent(itemFromDb::setDescription);
         Optional.ofNullable(itemDto.getAvailable()).ifPresent(itemFromDb::setAvailable);
 
-        return itemRepository.save(itemFromDb);
+        Item item = itemRepository.save(itemFromDb);
+        setBookings(item);
+        setComments(List.of(item));
+        return item;
     }
 
+    @Transactional
     public void deleteItem(int id) {
         isContainItem(id);
         itemRepository.deleteById(id);
+        availabilityIndex.evict(id);
     }
 
+    @Transactional
     public Comment addComment(int userId, int itemId, Comment comment) {
         if (comment.getText().isEmpty()) {
             throw new ValidationException("Текст отзыва пустой");
         }
         User user = userService.getUser(userId);
-        Item item = getItemById(itemId, userId);
-        bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(userId, itemId, BookingStatus.APPROVED,
-                        LocalDateTime.now())
-                .orElseThrow(() -> new ValidationException("Ошибка во входных данных"));
+        Item item = getItem(itemId);
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(userId, itemId,
+                BookingStatus.APPROVED, LocalDateTime.now())) {
+            throw new ValidationException("Ошибка во входных данных");
+        }
 
         comment.setAuthor(user);
         comment.setItem(item);
@@ -146,23 +219,85 @@ public class ItemService implements PageTool {
         }
     }
 
-    private Item setBookings(Item item) {
-        Optional<Booking> lastBooking = getLastBookingForItem(item.getId());
-        Optional<Booking> nextBooking = getNextBookingForItem(item.getId());
+    private List<Item> setComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Integer, List<Comment>> commentsByItemId = findCommentsByItemIds(
+                items.stream().map(Item::getId).collect(Collectors.toSet()));
+
+        for (Item item : items) {
+            item.setComments(commentsByItemId.getOrDefault(item.getId(), new ArrayList<>()));
+        }
+        return items;
+    }
+
+    private Map<Integer, List<Comment>> findComments(List<ItemView> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return findCommentsByItemIds(items.stream().map(ItemView::getId).collect(Collectors.toSet()));
+    }
+
+    private Map<Integer, List<Comment>> findCommentsByItemIds(Collection<Integer> itemIds) {
+        return commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+    }
+
+    private Map<Integer, List<BookingSummary>> findBookingSummary(List<ItemView> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return findBookingSummaryByItemIds(items.stream().map(ItemView::getId).collect(Collectors.toSet()));
+    }
 
-        item.setLastBooking(lastBooking.orElse(null));
-        item.setNextBooking(nextBooking.orElse(null));
+    private Map<Integer, List<BookingSummary>> findBookingSummaryByItemIds(Collection<Integer> itemIds) {
+        return bookingRepository.findBookingSummaryByItemIds(itemIds, BookingStatus.APPROVED)
+                .stream()
+                .collect(Collectors.groupingBy(BookingSummary::getItemId));
+    }
 
+    private String toSearchQuery(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private Item setBookings(Item item) {
+        setBookings(List.of(item));
         return item;
     }
 
-    private Optional<Booking> getLastBookingForItem(int itemId) {
-        return bookingRepository.findFirstByItemIdAndStatusOrderByEnd(itemId,
-                BookingStatus.APPROVED);
+    private List<Item> setBookings(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Integer, List<BookingSummary>> summaryByItemId = findBookingSummaryByItemIds(
+                items.stream().map(Item::getId).collect(Collectors.toSet()));
+
+        for (Item item : items) {
+            List<BookingSummary> summary = summaryByItemId.getOrDefault(item.getId(), Collections.emptyList());
+            item.setLastBooking(summary.stream()
+                    .min(Comparator.comparing(BookingSummary::getEnd))
+                    .map(this::toBooking)
+                    .orElse(null));
+            item.setNextBooking(summary.stream()
+                    .max(Comparator.comparing(BookingSummary::getEnd))
+                    .map(this::toBooking)
+                    .orElse(null));
+        }
+        return items;
     }
 
-    private Optional<Booking> getNextBookingForItem(int itemId) {
-        return bookingRepository.findFirstByItemIdAndStatusOrderByEndDesc(itemId,
-                BookingStatus.APPROVED);
+    private Booking toBooking(BookingSummary summary) {
+        return Booking.builder()
+                .id(summary.getId())
+                .start(summary.getStart())
+                .end(summary.getEnd())
+                .booker(new User(summary.getBookerId(), null, null))
+                .status(BookingStatus.APPROVED)
+                .build();
     }
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public interface CommentView {
+    int getId();
+
+    String getText();
+
+    int getItemId();
+
+    int getAuthorId();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
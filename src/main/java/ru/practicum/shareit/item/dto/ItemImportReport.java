@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог импорта: число сохранённых и отклонённых строк и ошибки по номерам строк. Список ошибок
+ * ограничен {@code shareit.import.max-errors}, {@code failed} учитывает все отклонённые строки.
+ */
+@Data
+@NoArgsConstructor
+public class ItemImportReport {
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
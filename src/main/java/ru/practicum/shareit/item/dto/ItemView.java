@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemView {
+    int getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    int getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+
+    Integer getRequestId();
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.item.mapper;
 
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingSummary;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -40,7 +44,23 @@ public class ItemMapper {
                 .requestId(Optional.ofNullable(item.getRequest()).map(ItemRequest::getId).orElse(null))
                 .lastBooking(Optional.ofNullable(item.getLastBooking()).map(this::toBookingItem).orElse(null))
                 .nextBooking(Optional.ofNullable(item.getNextBooking()).map(this::toBookingItem).orElse(null))
-                .comments(item.getComments().stream().map(this::toCommentItem).collect(Collectors.toList()))
+                .comments(Optional.ofNullable(item.getComments()).orElse(Collections.emptyList())
+                        .stream().map(this::toCommentItem).collect(Collectors.toList()))
+                .build();
+    }
+
+    public ItemDto toItemDto(ItemView item, BookingSummary lastBooking, BookingSummary nextBooking,
+                             List<Comment> comments) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(new ItemDto.User(item.getOwnerId(), item.getOwnerName(), item.getOwnerEmail()))
+                .requestId(item.getRequestId())
+                .lastBooking(Optional.ofNullable(lastBooking).map(this::toBookingItem).orElse(null))
+                .nextBooking(Optional.ofNullable(nextBooking).map(this::toBookingItem).orElse(null))
+                .comments(comments.stream().map(this::toCommentItem).collect(Collectors.toList()))
                 .build();
     }
 
@@ -69,6 +89,15 @@ public class ItemMapper {
         );
     }
 
+    private ItemDto.Booking toBookingItem(BookingSummary booking) {
+        return new ItemDto.Booking(
+                booking.getId(),
+                booking.getBookerId(),
+                booking.getStart(),
+                booking.getEnd()
+        );
+    }
+
     private Booking toBooking(ItemDto.Booking itemBooking) {
         return Booking.builder()
                 .id(itemBooking.getId())
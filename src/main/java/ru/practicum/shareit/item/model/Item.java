@@ -11,7 +11,6 @@ import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,7 +24,8 @@ import java.util.List;
 @Builder
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private int id;
     private String name;
     private String description;
@@ -41,7 +41,6 @@ public class Item {
     private Booking lastBooking;
     @Transient
     private Booking nextBooking;
-    @OneToMany(fetch = FetchType.EAGER)
-    @JoinColumn(name = "item_id")
-    private List<Comment> comments = new ArrayList<>();
+    @Transient
+    private List<Comment> comments;
 }
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Неблокирующие двойники {@link ItemRepository#findViewsByOwnerId} и {@link CommentRepository#findAllByItemIdIn}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemReactiveRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<ItemView> findViewsByOwnerId(int ownerId, int offset, int size) {
+        return databaseClient.sql("select i.id, i.name, i.description, i.available, i.request_id,"
+                        + " u.id as owner_id, u.name as owner_name, u.email as owner_email"
+                        + " from items i join users u on u.id = i.owner_id where i.owner_id = :ownerId"
+                        + " order by i.id limit :limit offset :offset")
+                .bind("ownerId", ownerId)
+                .bind("limit", size)
+                .bind("offset", offset)
+                .map(row -> (ItemView) new View(
+                        row.get("id", Integer.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("available", Boolean.class),
+                        row.get("owner_id", Integer.class),
+                        row.get("owner_name", String.class),
+                        row.get("owner_email", String.class),
+                        row.get("request_id", Integer.class)))
+                .all();
+    }
+
+    public Flux<Comment> findCommentsByItemIds(Collection<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("select c.id, c.text, c.item_id, c.created,"
+                        + " u.id as author_id, u.name as author_name, u.email as author_email"
+                        + " from comments c join users u on u.id = c.author_id where c.item_id in (:itemIds)"
+                        + " order by c.id")
+                .bind("itemIds", itemIds)
+                .map(row -> Comment.builder()
+                        .id(row.get("id", Integer.class))
+                        .text(row.get("text", String.class))
+                        .item(Item.builder().id(row.get("item_id", Integer.class)).build())
+                        .author(new User(row.get("author_id", Integer.class), row.get("author_name", String.class),
+                                row.get("author_email", String.class)))
+                        .created(row.get("created", LocalDateTime.class))
+                        .build())
+                .all();
+    }
+
+    @Value
+    private static class View implements ItemView {
+        int id;
+        String name;
+        String description;
+        Boolean available;
+        int ownerId;
+        String ownerName;
+        String ownerEmail;
+        Integer requestId;
+    }
+}
@@ -2,18 +2,57 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
-    @Query("select i from Item i" +
-            " where upper(i.name) like upper(concat('%', ?1, '%'))" +
-            " or upper(i.description) like upper(concat('%', ?1, '%'))" +
-            " and i.available is true")
-    List<Item> search(String text, Pageable page);
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available," +
+            " o.id as ownerId, o.name as ownerName, o.email as ownerEmail, r.id as requestId" +
+            " from Item i join i.owner o left join i.request r" +
+            " where o.id = ?1" +
+            " order by i.id")
+    List<ItemView> findViewsByOwnerId(int userId, Pageable page);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available," +
+            " o.id as ownerId, o.name as ownerName, o.email as ownerEmail, r.id as requestId" +
+            " from Item i join i.owner o left join i.request r" +
+            " where i.available = true" +
+            " and (upper(i.name) like upper(concat('%', ?1, '%'))" +
+            " or upper(i.description) like upper(concat('%', ?1, '%')))" +
+            " order by i.id")
+    List<ItemView> searchViews(String text, Pageable page);
+
+    @Query(value = "select i.id as id, i.name as name, i.description as description, i.available as available," +
+            " o.id as ownerId, o.name as ownerName, o.email as ownerEmail, i.request_id as requestId" +
+            " from items i join users o on o.id = i.owner_id" +
+            " where i.available" +
+            " and to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, ''))" +
+            " @@ to_tsquery('simple', :query)" +
+            " order by ts_rank(to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, ''))," +
+            " to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    List<ItemView> searchViewsFullText(String query, Pageable page);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available," +
+            " o.id as ownerId, o.name as ownerName, o.email as ownerEmail, r.id as requestId" +
+            " from Item i join i.owner o left join i.request r" +
+            " order by i.id")
+    Stream<ItemView> streamAllViews();
 
-    List<Item> findAllByOwnerId(int userId, Pageable page);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(int itemId);
 }
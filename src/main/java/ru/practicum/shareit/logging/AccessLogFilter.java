@@ -0,0 +1,79 @@
+package ru.practicum.shareit.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Одно структурированное событие на HTTP-запрос в логгер {@value #LOGGER}: метод, маршрут, статус,
+ * длительность. Маршруты из {@code shareit.access-log.sampled-routes} (например, {@code GET /bookings})
+ * пишутся с вероятностью {@code shareit.access-log.sample-rate}; ответы с ошибкой пишутся всегда.
+ * Исключение, вылетевшее из цепочки фильтров, пишется со статусом 500 и классом исключения, затем
+ * пробрасывается дальше.
+ * Доля выборки попадает в событие, чтобы при агрегации можно было восстановить полный объём.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER = "ru.practicum.shareit.access";
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER);
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final Set<String> sampledRoutes;
+    private final double sampleRate;
+
+    public AccessLogFilter(@Value("${shareit.access-log.sampled-routes:}") Set<String> sampledRoutes,
+                           @Value("${shareit.access-log.sample-rate:1.0}") double sampleRate) {
+        this.sampledRoutes = sampledRoutes;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (Throwable e) {
+            log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e, start);
+            throw e;
+        }
+        log(request, response.getStatus(), null, start);
+    }
+
+    private void log(HttpServletRequest request, int status, Throwable exception, long start) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? request.getRequestURI() : pattern.toString();
+        double rate = status < 400 && sampledRoutes.contains(request.getMethod() + " " + route) ? sampleRate : 1.0;
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return;
+        }
+        ACCESS_LOG.info("{} {} {} {} {} {} {} {}",
+                kv("method", request.getMethod()),
+                kv("route", route),
+                kv("status", status),
+                kv("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)),
+                kv("userId", request.getHeader(HEADER_USER_ID)),
+                kv("state", request.getParameter("state")),
+                kv("sampleRate", rate),
+                kv("exception", exception == null ? null : exception.getClass().getName()));
+    }
+}
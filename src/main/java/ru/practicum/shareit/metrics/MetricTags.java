@@ -0,0 +1,44 @@
+package ru.practicum.shareit.metrics;
+
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.exception.InputDataException;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Значения общих тегов метрик. Состояние бронирования приходит от клиента строкой,
+ * поэтому всё, что не является {@link BookingState}, сводится к одному значению,
+ * чтобы число временных рядов оставалось ограниченным.
+ */
+public final class MetricTags {
+
+    public static final String NONE = "none";
+    static final String UNKNOWN = "UNKNOWN";
+
+    private MetricTags() {
+    }
+
+    public static String state(Object state) {
+        if (state == null) {
+            return NONE;
+        }
+        if (state instanceof BookingState) {
+            return ((BookingState) state).name();
+        }
+        for (BookingState value : BookingState.values()) {
+            if (value.name().equals(state.toString())) {
+                return value.name();
+            }
+        }
+        return UNKNOWN;
+    }
+
+    public static String outcome(Throwable failure) {
+        if (failure == null) {
+            return "SUCCESS";
+        }
+        if (failure instanceof ValidationException || failure instanceof InputDataException) {
+            return "CLIENT_ERROR";
+        }
+        return "SERVER_ERROR";
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SQL-запросы одного HTTP-запроса. Для запроса, повторившегося хотя бы дважды (признак N+1),
+ * запоминается место вызова в коде приложения — стек снимается один раз на такой запрос.
+ */
+public class RequestStatements {
+
+    private static final int SUMMARY_LIMIT = 5;
+    private static final int SQL_PREVIEW = 120;
+    private static final int CALL_SITE_FRAMES = 3;
+    private static final String APP_PACKAGE = "ru.practicum.shareit.";
+    private static final String OWN_PACKAGE = RequestStatements.class.getPackageName() + ".";
+
+    private final Map<String, Repeat> statements = new HashMap<>();
+    private int count;
+
+    void add(String sql) {
+        count++;
+        Repeat repeat = statements.computeIfAbsent(sql, key -> new Repeat());
+        if (++repeat.count == 2) {
+            repeat.callSite = callSite();
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Повторяющиеся запросы по убыванию числа повторов, с местом вызова.
+     */
+    public String summary() {
+        String summary = statements.entrySet().stream()
+                .filter(entry -> entry.getValue().count > 1)
+                .sorted(Comparator.comparingInt((Map.Entry<String, Repeat> entry) -> entry.getValue().count)
+                        .reversed())
+                .limit(SUMMARY_LIMIT)
+                .map(entry -> entry.getValue().count + "x " + preview(entry.getKey())
+                        + " at " + entry.getValue().callSite)
+                .collect(Collectors.joining("\n  ", "\n  ", ""));
+        return summary.isBlank() ? " нет" : summary;
+    }
+
+    private static String preview(String sql) {
+        String line = sql.replaceAll("\\s+", " ").trim();
+        return line.length() > SQL_PREVIEW ? line.substring(0, SQL_PREVIEW) + "..." : line;
+    }
+
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().startsWith(OWN_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .limit(CALL_SITE_FRAMES)
+                .map(frame -> frame.getClassName().substring(APP_PACKAGE.length()) + "."
+                        + frame.getMethodName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- ")));
+    }
+
+    private static final class Repeat {
+        private int count;
+        private String callSite;
+    }
+}
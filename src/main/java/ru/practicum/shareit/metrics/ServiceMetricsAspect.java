@@ -0,0 +1,63 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Таймер {@value #METRIC} на каждый публичный метод сервисов приложения. Теги: сервис, метод,
+ * состояние бронирования (если метод принимает параметр {@code state}) и исход вызова.
+ * Репозитории измеряет сам Spring Data ({@code spring.data.repository.invocations}),
+ * маршруты контроллеров — Spring MVC ({@code http.server.requests}). Методы, возвращающие {@code Publisher},
+ * не измеряются: к возврату из них запрос ещё не выполнен, их время видно в таймере маршрута.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC = "shareit.service";
+    private static final String STATE_PARAMETER = "state";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(ru.practicum.shareit..*) && @within(org.springframework.stereotype.Service) "
+            + "&& execution(public * *(..)) && !execution(org.reactivestreams.Publisher+ *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            sample.stop(Timer.builder(METRIC)
+                    .tag("service", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("state", MetricTags.state(stateArgument(signature, joinPoint.getArgs())))
+                    .tag("outcome", MetricTags.outcome(failure))
+                    .tag("exception", failure == null ? MetricTags.NONE : failure.getClass().getSimpleName())
+                    .register(meterRegistry));
+        }
+    }
+
+    private static Object stateArgument(MethodSignature signature, Object[] args) {
+        String[] names = signature.getParameterNames();
+        if (names == null) {
+            return null;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (STATE_PARAMETER.equals(names[i])) {
+                return args[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Фильтр объявлен здесь, а не через {@code @Component}: срезы {@code @WebMvcTest} подхватывают
+ * все фильтры, а счётчику SQL там нечего считать.
+ */
+@Configuration
+public class SqlStatementConfig {
+
+    @Bean
+    public SqlStatementFilter sqlStatementFilter(SqlStatementCounter counter, MeterRegistry meterRegistry,
+                                                 @Value("${shareit.sql.statement-threshold:20}") int threshold,
+                                                 @Value("${shareit.sql.fail-on-exceed:false}") boolean failOnExceed) {
+        return new SqlStatementFilter(counter, meterRegistry, threshold, failOnExceed);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Считает SQL-запросы каждого HTTP-запроса: пишет их число в метрику {@value #METRIC} по маршруту
+ * и предупреждает в логе, если маршрут превысил свой бюджет ({@link SqlBudget} или
+ * {@code shareit.sql.statement-threshold}). При {@code shareit.sql.fail-on-exceed=true}
+ * превышение бюджета — ошибка; так работают интеграционные тесты.
+ */
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String METRIC = "shareit.sql.statements";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+    private final boolean failOnExceed;
+
+    public SqlStatementFilter(SqlStatementCounter counter, MeterRegistry meterRegistry, int threshold,
+                              boolean failOnExceed) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements = counter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            counter.stop();
+        }
+        check(request, statements);
+    }
+
+    private void check(HttpServletRequest request, RequestStatements statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder(METRIC)
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.getCount());
+
+        int budget = budget(request);
+        if (statements.getCount() <= budget) {
+            return;
+        }
+        String message = String.format("%s %s выполнил %d SQL-запросов при бюджете %d. Повторяющиеся запросы:%s",
+                request.getMethod(), uri, statements.getCount(), budget, statements.summary());
+        if (failOnExceed) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private int budget(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            SqlBudget budget = ((HandlerMethod) handler).getMethodAnnotation(SqlBudget.class);
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return threshold;
+    }
+}
@@ -3,8 +3,10 @@ package ru.practicum.shareit.requests;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationErrorResponse;
 import ru.practicum.shareit.exception.ValidationException;
@@ -26,21 +28,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemRequestController {
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
 
     private final ItemRequestService requestService;
+    private final ItemRequestReactiveService requestReactiveService;
     private final ItemRequestMapper itemRequestMapper;
 
     @PostMapping
     public ItemRequestDto createRequest(@RequestHeader(HEADER_USER_ID) int userId,
                                      @Valid @RequestBody ItemRequestDto requestDto) {
-        log.info("Получен запрос к эндпоинту POST /requests");
+        log.debug("Получен запрос к эндпоинту POST /requests");
         ItemRequest itemRequest = requestService.createRequest(userId,  itemRequestMapper.toItemRequest(requestDto));
         return itemRequestMapper.toItemRequestDto(itemRequest);
     }
 
     @GetMapping
     public Collection<ItemRequestDto> getAllRequestByUserId(@RequestHeader(HEADER_USER_ID) int userId) {
-        log.info("Получен запрос к эндпоинту GET /requests");
+        log.debug("Получен запрос к эндпоинту GET /requests");
         Collection<ItemRequest> allRequestsByUserId = requestService.getAllRequestByUserId(userId);
         return allRequestsByUserId.stream().map(itemRequestMapper::toItemRequestDto).collect(Collectors.toList());
     }
@@ -49,33 +53,47 @@ public class ItemRequestController {
     public List<ItemRequestDto> getAllRequest(@RequestHeader(HEADER_USER_ID) int userId,
                                               @RequestParam(defaultValue = "0") int from,
                                               @RequestParam(defaultValue = "20") int size) {
-        log.info("Получен запрос к эндпоинту GET /requests/all");
+        log.debug("Получен запрос к эндпоинту GET /requests/all");
         List<ItemRequest> list = requestService.getAllRequest(userId, from, size);
         return list.stream().map(itemRequestMapper::toItemRequestDto).collect(Collectors.toList());
     }
 
+    /**
+     * Чужие запросы потоком NDJSON (по запросу с {@code Accept: application/x-ndjson}), чтение через R2DBC.
+     */
+    @GetMapping(value = "/all", produces = APPLICATION_NDJSON)
+    public Flux<ItemRequestDto> streamAllRequest(@RequestHeader(HEADER_USER_ID) int userId,
+                                                 @RequestParam(defaultValue = "0") int from,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        log.debug("Получен запрос к эндпоинту GET /requests/all (поток)");
+        return requestReactiveService.getAllRequest(userId, from, size).map(itemRequestMapper::toItemRequestDto);
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequestById(@RequestHeader(HEADER_USER_ID) int userId,
                                       @PathVariable int requestId) {
-        log.info("Получен запрос к эндпоинту GET /requests/{}", requestId);
+        log.debug("Получен запрос к эндпоинту GET /requests/{}", requestId);
         return itemRequestMapper.toItemRequestDto(requestService.getRequestById(userId, requestId));
     }
 
     @ExceptionHandler
     public ResponseEntity<ValidationErrorResponse> handleIncorrectValidation(ValidationException e) {
-        log.warn("При обработке запроса возникло исключение: " + e.getMessage());
-        return new ResponseEntity<>(new ValidationErrorResponse(e.getMessage()), HttpStatus.BAD_REQUEST);
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
+        // JSON явно: потоковые маршруты принимают только application/x-ndjson
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ValidationErrorResponse(e.getMessage()));
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleException(Exception e) {
-        log.warn("При обработке запроса возникло исключение " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleNotFoundException(InputDataException e) {
-        log.warn("При обработке запроса возникло исключение: " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 }
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.requests;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.requests.repository.ItemRequestReactiveRepository;
+import ru.practicum.shareit.user.UserReactiveService;
+
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Неблокирующая версия {@link ItemRequestService#getAllRequest}: страница чужих запросов и вещи к ней.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemRequestReactiveService {
+
+    private final ItemRequestReactiveRepository requestReactiveRepository;
+    private final UserReactiveService userReactiveService;
+
+    public Flux<ItemRequest> getAllRequest(int userId, int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Ошибка во входных данных страницы");
+        }
+        return userReactiveService.isContainsUser(userId)
+                .thenMany(requestReactiveRepository.findAllByRequesterIdNot(userId, from / size * size, size))
+                .collectList()
+                .flatMapMany(requests -> requestReactiveRepository
+                        .findItemsByRequestIds(requests.stream().map(ItemRequest::getId).collect(Collectors.toSet()))
+                        .collectMultimap(item -> item.getRequest().getId())
+                        .flatMapIterable(items -> {
+                            requests.forEach(request -> request.getItems().addAll(
+                                    items.getOrDefault(request.getId(), Collections.<Item>emptyList())));
+                            return requests;
+                        }));
+    }
+}
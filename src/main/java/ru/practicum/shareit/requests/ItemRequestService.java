@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.requests.mapper.ItemRequestMapper;
@@ -21,6 +22,7 @@ import java.util.List;
 
 
 @Service
+@Transactional(readOnly = true)
 @Slf4j
 @RequiredArgsConstructor
 public class ItemRequestService implements PageTool {
@@ -29,6 +31,7 @@ public class ItemRequestService implements PageTool {
     private final UserService userService;
     private final ItemRequestMapper itemRequestMapper;
 
+    @Transactional
     public ItemRequest createRequest(int userId, ItemRequest request) {
         userService.isContainsUser(userId);
         checkInputRequestData(request);
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.requests.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Неблокирующий двойник {@link ItemRequestRepository#findAllByRequesterIdNotOrderByCreatedDesc}.
+ * Вещи запросов читаются отдельно, одним запросом на страницу.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemRequestReactiveRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<ItemRequest> findAllByRequesterIdNot(int userId, int offset, int size) {
+        return databaseClient.sql("select r.id, r.description, r.created,"
+                        + " u.id as requester_id, u.name as requester_name, u.email as requester_email"
+                        + " from item_requests r join users u on u.id = r.requester_id where r.requester_id <> :userId"
+                        + " order by r.created desc, r.id limit :limit offset :offset")
+                .bind("userId", userId)
+                .bind("limit", size)
+                .bind("offset", offset)
+                .map(row -> ItemRequest.builder()
+                        .id(row.get("id", Integer.class))
+                        .description(row.get("description", String.class))
+                        .requester(new User(row.get("requester_id", Integer.class),
+                                row.get("requester_name", String.class), row.get("requester_email", String.class)))
+                        .created(row.get("created", LocalDateTime.class))
+                        .items(new ArrayList<>())
+                        .build())
+                .all();
+    }
+
+    public Flux<Item> findItemsByRequestIds(Collection<Integer> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("select id, name, description, available, request_id from items"
+                        + " where request_id in (:requestIds) order by id")
+                .bind("requestIds", requestIds)
+                .map(row -> Item.builder()
+                        .id(row.get("id", Integer.class))
+                        .name(row.get("name", String.class))
+                        .description(row.get("description", String.class))
+                        .available(row.get("available", Boolean.class))
+                        .request(ItemRequest.builder().id(row.get("request_id", Integer.class)).build())
+                        .build())
+                .all();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.server;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Доступ к виртуальным потокам без привязки сборки к Java 21: приложение компилируется под Java 11,
+ * а {@code Executors.newVirtualThreadPerTaskExecutor()} ищется во время работы.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Исполнитель «поток на задачу» на виртуальных потоках или пусто, если JVM их не поддерживает
+     * (до Java 21, либо Java 19–20 без {@code --enable-preview}).
+     */
+    public static Optional<ExecutorService> newPerTaskExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class))
+                    .invoke();
+            return Optional.of(executor);
+        } catch (NoSuchMethodException | IllegalAccessException | UnsupportedOperationException e) {
+            return Optional.empty();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+        }
+    }
+}
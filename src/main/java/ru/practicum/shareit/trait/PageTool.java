@@ -9,4 +9,8 @@ public interface PageTool {
         Sort sortById = Sort.by(direction, sort);
         return PageRequest.of((from / size), size, sortById);
     }
+
+    default Pageable getPage(int from, int size) {
+        return PageRequest.of((from / size), size);
+    }
 }
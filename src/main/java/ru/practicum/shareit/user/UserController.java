@@ -3,9 +3,12 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.exception.InputDataException;
+import ru.practicum.shareit.export.ExportService;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.UserMapper;
@@ -20,55 +23,73 @@ import java.util.List;
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 public class UserController {
+    private static final String FROM = "0";
+    private static final String SIZE = "20";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
     private final UserService userService;
+    private final ExportService exportService;
     private final UserMapper userMapper;
 
     @PostMapping
     public ResponseEntity<UserDto> addUser(@RequestBody UserDto userDto) {
-        log.info("Получен запрос к эндпоинту POST /users");
+        log.debug("Получен запрос к эндпоинту POST /users");
         return new ResponseEntity<>(userService.addUser(userDto), HttpStatus.CREATED);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUser(@PathVariable("id") int id) {
-        log.info("Получен запрос к эндпоинту GET /users/{}", id);
+        log.debug("Получен запрос к эндпоинту GET /users/{}", id);
         UserDto userDto = userMapper.toUserDto(userService.getUser(id));
         return new ResponseEntity<>(userDto, HttpStatus.OK);
     }
 
     @GetMapping
-    public List<UserDto> getAllUser() {
-        log.info("Получен запрос к эндпоинту: GET /users");
-        return userService.getAllUsers();
+    public List<UserDto> getAllUser(@RequestParam(defaultValue = FROM) int from,
+                                    @RequestParam(defaultValue = SIZE) int size,
+                                    @RequestParam(required = false) Integer after) {
+        log.debug("Получен запрос к эндпоинту: GET /users");
+        return userService.getUsers(from, size, after);
+    }
+
+    /**
+     * Все пользователи потоком NDJSON (по запросу с {@code Accept: application/x-ndjson}): сервер не держит
+     * список в памяти, ответ передаётся частями.
+     */
+    @GetMapping(produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.debug("Получен запрос к эндпоинту: GET /users (поток)");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(exportService::exportUsers);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<UserDto> updateUser(@PathVariable("id") int id, @RequestBody UserDto userDto) {
-        log.info("Получен запрос к эндпоинту: PATCH /users");
+        log.debug("Получен запрос к эндпоинту: PATCH /users");
         return new ResponseEntity<>(userService.updateUser(userDto, id), HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable("id") int id) {
-        log.info("Получен запрос к эндпоинту: DELETE /users/{}", id);
+        log.debug("Получен запрос к эндпоинту: DELETE /users/{}", id);
         userService.deleteUser(id);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleIncorrectValidation(ValidationException e) {
-        log.warn("При обработке запроса возникло исключение: " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleException(Exception e) {
-        log.warn("При обработке запроса возникло исключение " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler
     public ResponseEntity<String> handleNotFoundException(InputDataException e) {
-        log.warn("При обработке запроса возникло исключение: " + e.getMessage());
+        log.warn("При обработке запроса возникло исключение: {}", e.getMessage());
         return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
     }
 }
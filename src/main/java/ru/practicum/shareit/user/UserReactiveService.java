@@ -0,0 +1,25 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.InputDataException;
+import ru.practicum.shareit.user.repository.UserReactiveRepository;
+
+/**
+ * Неблокирующая пара к {@link UserService#isContainsUser}: пустой {@link Mono}, если пользователь есть,
+ * и ошибка {@link InputDataException}, если нет.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserReactiveService {
+
+    private final UserReactiveRepository userReactiveRepository;
+
+    public Mono<Void> isContainsUser(int id) {
+        return userReactiveRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new InputDataException("Пользователь не найден")));
+    }
+}
@@ -2,28 +2,45 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.context.RequestIdentityMap;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.trait.PageTool;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.validate.ValidateUserData;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @Slf4j
 @RequiredArgsConstructor
-public class UserService {
+public class UserService implements PageTool {
+    public static final String USERS_CACHE = "users";
+    public static final String USER_EXISTS_CACHE = "userExists";
 
     private final UserRepository userRepository;
     private final ValidateUserData validateUserData;
     private final UserMapper userMapper;
+    private final RequestIdentityMap identityMap;
+    private final CacheManager cacheManager;
 
+    @Transactional
     public UserDto addUser(UserDto userDto) {
         User user = userMapper.fromUserDto(userDto);
         if (validateUserData.checkAllData(user)) {
@@ -34,35 +51,84 @@ public class UserService {
         }
     }
 
+    /**
+     * Возвращает отсоединённую копию пользователя: она же лежит в кэше, поэтому её нельзя изменять,
+     * а управляемая сущность из контекста персистентности в кэш не попадает.
+     */
+    @Cacheable(USERS_CACHE)
     public User getUser(int id) {
-        return userRepository.findById(id).orElseThrow(() -> new InputDataException(
-                "Пользователь с таким id не найден"));
+        User user = findUser(id);
+        return new User(user.getId(), user.getName(), user.getEmail());
     }
 
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
+    /**
+     * Страница пользователей по возрастанию id: после курсора {@code after} (id последнего полученного
+     * пользователя), если он задан, иначе со смещением {@code from}.
+     */
+    public List<UserDto> getUsers(int from, int size, Integer after) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Размер страницы не соответствует исходным данным");
+        }
+        List<User> users = after == null
+                ? userRepository.findAllBy(getPage(from, size, "id", Sort.Direction.ASC))
+                : userRepository.findAllByIdGreaterThanOrderById(after, PageRequest.of(0, size));
+        return users.stream()
                 .map(userMapper::toUserDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public UserDto updateUser(UserDto userDto, int id) throws InputDataException {
         User user = userMapper.fromUserDto(userDto);
-        User userDb = getUser(id);
+        User userDb = findUser(id);
         Optional.ofNullable(user.getEmail()).ifPresent(userDb::setEmail);
         Optional.ofNullable(user.getName()).ifPresent(userDb::setName);
-        return userMapper.toUserDto(userRepository.save(userDb));
+        User saved = userRepository.save(userDb);
+        evictAfterCommit(id, USERS_CACHE);
+        return userMapper.toUserDto(saved);
     }
 
+    @Transactional
     public void deleteUser(int id) {
         userRepository.deleteById(id);
+        identityMap.forget(User.class, id);
+        evictAfterCommit(id, USERS_CACHE, USER_EXISTS_CACHE);
     }
 
+    @Cacheable(USER_EXISTS_CACHE)
     public boolean isContainsUser(int id) {
-        if (userRepository.existsById(id)) {
+        if (identityMap.contains(User.class, id) || userRepository.existsById(id)) {
             return true;
         } else {
             throw new InputDataException("Пользователь не найден");
         }
     }
+
+    private User findUser(int id) {
+        User user = userRepository.findById(id).orElseThrow(() ->
+                new InputDataException("Пользователь с таким id не найден"));
+        identityMap.remember(User.class, id);
+        return user;
+    }
+
+    /**
+     * Сброс после фиксации: при сбросе до неё параллельный {@link #getUser} успел бы вернуть в кэш старую
+     * строку, и она прожила бы там до истечения срока записи.
+     */
+    private void evictAfterCommit(int id, String... cacheNames) {
+        Runnable evict = () -> Arrays.stream(cacheNames)
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .forEach(cache -> cache.evict(id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
 }
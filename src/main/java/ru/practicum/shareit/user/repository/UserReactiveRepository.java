@@ -0,0 +1,25 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Проверка существования пользователя для неблокирующих маршрутов: кэш {@code userExists}
+ * живёт в блокирующем {@code UserService}, здесь — один лёгкий запрос по первичному ключу.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserReactiveRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Boolean> existsById(int id) {
+        return databaseClient.sql("select 1 from users where id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+}
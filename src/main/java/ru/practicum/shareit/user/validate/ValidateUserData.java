@@ -2,43 +2,45 @@ package ru.practicum.shareit.user.validate;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.Violation;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
+/**
+ * Проверка данных пользователя. Не хранит состояния, поэтому один экземпляр
+ * безопасно вызывать из любого числа потоков.
+ */
 @Slf4j
 @Component
 public class ValidateUserData {
 
-    private User user;
-
-    private void setUser(User user) {
-        this.user = user;
-    }
-
     public boolean checkAllData(User user) {
-        setUser(user);
-        if (isCorrectEmail() && isCorrectName()) {
+        List<Violation> violations = validate(user);
+        if (violations.isEmpty()) {
             return true;
-        } else {
-            return false;
         }
+        violations.forEach(violation -> log.warn("Ошибка во входных данных. {}", violation.getMessage()));
+        return false;
     }
 
-    public boolean isCorrectEmail() {
-        if (user.getEmail() != null && !user.getEmail().isEmpty() && user.getEmail().contains("@")) {
-            return true;
-        } else {
-            log.warn("Ошибка во входных данных. Электронная почта пустая или не содержит @");
-            return false;
+    public List<Violation> validate(User user) {
+        List<Violation> violations = Violation.none();
+        if (!isCorrectEmail(user.getEmail())) {
+            violations = Violation.append(violations, "email", "Электронная почта пустая или не содержит @");
         }
+        if (!isCorrectName(user.getName())) {
+            violations = Violation.append(violations, "name", "Логин пустой или содержит пробелы");
+        }
+        return violations;
     }
 
-    public boolean isCorrectName() {
-        if (!user.getName().isEmpty() && !user.getName().contains(" ")) {
-            return true;
-        } else {
-            log.warn("Ошибка во входных данных. Логин пустой или содержит пробелы");
-            return false;
-        }
+    public static boolean isCorrectEmail(String email) {
+        return email != null && !email.isEmpty() && email.indexOf('@') >= 0;
+    }
+
+    public static boolean isCorrectName(String name) {
+        return name != null && !name.isEmpty() && name.indexOf(' ') < 0;
     }
 
 }
@@ -49,6 +49,3 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT FK_COMMENT_ON_AUTHOR FOREIGN KEY (author_id) REFERENCES users (id),
     CONSTRAINT FK_COMMENT_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (id)
 );
-
-
-
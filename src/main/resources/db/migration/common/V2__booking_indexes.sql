@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_START ON bookings (booker_id, date_from DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_START ON bookings (item_id, date_from DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_STATUS_START ON bookings (booker_id, status, date_from DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_ITEM_STATUS_END ON bookings (item_id, status, date_to);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_BOOKER_ITEM_STATUS_START ON bookings (booker_id, item_id, status, date_from);
+
+CREATE INDEX IF NOT EXISTS IX_COMMENT_ITEM ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS IX_ITEM_REQUEST_REQUESTER_CREATED ON item_requests (requester_id, created DESC);
@@ -0,0 +1,9 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id INT;
+
+ALTER TABLE bookings ADD CONSTRAINT FK_BOOKING_ON_OWNER FOREIGN KEY (owner_id) REFERENCES users (id);
+
+UPDATE bookings b SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = b.item_id);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_OWNER_START ON bookings (owner_id, date_from DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS IX_BOOKING_OWNER_STATUS_START ON bookings (owner_id, status, date_from DESC);
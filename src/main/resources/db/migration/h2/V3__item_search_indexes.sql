@@ -0,0 +1 @@
+-- H2 has no GIN or partial indexes: search in the test profile runs the LIKE query without them.
@@ -0,0 +1 @@
+-- H2 triggers require Java classes: items never change owner in the test profile, so no sync trigger here.
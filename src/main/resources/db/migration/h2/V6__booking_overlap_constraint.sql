@@ -0,0 +1 @@
+-- H2 has no exclusion constraints: overlaps are prevented by the item row lock taken in createBooking.
@@ -0,0 +1,5 @@
+-- The LIKE branch of the search (upper(...) like '%x%') cannot use a b-tree index, so only the full-text
+-- branch gets one: a partial GIN index that covers rentable items only.
+CREATE INDEX IF NOT EXISTS IX_ITEM_AVAILABLE_FULL_TEXT ON items
+    USING GIN (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, '')))
+    WHERE available;
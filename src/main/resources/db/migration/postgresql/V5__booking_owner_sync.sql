@@ -0,0 +1,12 @@
+CREATE OR REPLACE FUNCTION sync_booking_owner() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE bookings SET owner_id = NEW.owner_id WHERE item_id = NEW.id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER TR_ITEM_OWNER_SYNC
+    AFTER UPDATE OF owner_id ON items
+    FOR EACH ROW
+    WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id)
+    EXECUTE FUNCTION sync_booking_owner();
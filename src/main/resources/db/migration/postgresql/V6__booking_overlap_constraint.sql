@@ -0,0 +1,17 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Bookings created before this constraint may already overlap, and ADD CONSTRAINT would then abort.
+-- Of every overlapping pair keep the APPROVED booking, or the earlier one if both have the same status,
+-- and reject the other. Survivors are pairwise disjoint, so the constraint below can be added.
+UPDATE bookings b SET status = 'REJECTED'
+WHERE b.status IN ('WAITING', 'APPROVED')
+  AND EXISTS (SELECT 1 FROM bookings e
+              WHERE e.item_id = b.item_id
+                AND e.id <> b.id
+                AND e.status IN ('WAITING', 'APPROVED')
+                AND tsrange(e.date_from, e.date_to) && tsrange(b.date_from, b.date_to)
+                AND (e.status = 'APPROVED' AND b.status = 'WAITING' OR e.status = b.status AND e.id < b.id));
+
+ALTER TABLE bookings ADD CONSTRAINT EX_BOOKING_ITEM_OVERLAP
+    EXCLUDE USING gist (item_id WITH =, tsrange(date_from, date_to) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
@@ -14,11 +15,13 @@ import ru.practicum.shareit.booking.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoItem;
 import ru.practicum.shareit.booking.dto.BookingDtoUser;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.dto.CreatedBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingReactiveService;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -26,6 +29,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -46,6 +50,9 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingReactiveService bookingReactiveService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -78,6 +85,9 @@ class BookingControllerTest {
             .status(BookingStatus.WAITING)
             .build();
 
+    private final BookingView mockBookingView = new BookingView(1, mockBooking.getStart(), mockBooking.getEnd(),
+            BookingStatus.WAITING, 1, "Item", "ItemDescription", true, 2, "BookerMike", "BookerMike@ya.com");
+
     private final CreatedBookingDto mockCreatedBookingDto = CreatedBookingDto.builder()
             .id(1)
             .start(LocalDateTime.now().plusDays(3))
@@ -115,10 +125,57 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.itemId", is(mockCreatedBookingDto.getItemId()), Integer.class));
     }
 
+    @Test
+    void testCreateBookingExclusionViolation() throws Exception {
+        when(bookingService.createBooking(anyInt(), any())).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("conflicting key value violates exclusion "
+                + "constraint \"ex_booking_item_overlap\"", "23P01")));
+
+        mockMvc.perform(post("/bookings")
+                        .content(objectMapper.writeValueAsString(mockCreatedBookingDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Вещь уже забронирована на эти даты")));
+    }
+
+    @Test
+    void testCreateBookingOtherIntegrityViolation() throws Exception {
+        when(bookingService.createBooking(anyInt(), any())).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("violates foreign key constraint", "23503")));
+
+        mockMvc.perform(post("/bookings")
+                        .content(objectMapper.writeValueAsString(mockCreatedBookingDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void testCreateBookings() throws Exception {
+        when(bookingService.createBookings(anyInt(), anyList())).thenReturn(List.of(mockBooking, mockBooking));
+        doReturn(mockCreatedBookingDto).when(bookingMapper).toCreatedBookingDto(any());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .content(objectMapper.writeValueAsString(List.of(mockCreatedBookingDto, mockCreatedBookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$.[0].itemId", is(mockCreatedBookingDto.getItemId()), Integer.class));
+    }
+
     @Test
     void testSetApproved() throws Exception {
         when(bookingService.setApproved(anyInt(), anyInt(), anyBoolean())).thenReturn(mockBooking);
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(Booking.class));
 
         mockMvc.perform(getContentWithPatchMethod())
                 .andExpect(status().isOk())
@@ -147,7 +204,7 @@ class BookingControllerTest {
     void testFindItemById() throws Exception {
         when(bookingService.findBookingById(anyInt(), anyInt())).thenReturn(mockBooking);
 
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(Booking.class));
         mockMvc.perform(getContentWithGetMethod("/bookings/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -163,9 +220,9 @@ class BookingControllerTest {
 
     @Test
     void testFindAllByBookerId() throws Exception {
-        when(bookingService.findAllByBookerId(anyInt(), any(String.class), anyInt(), anyInt()))
-                .thenReturn(List.of(mockBooking));
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+        when(bookingService.findViewsByBookerId(anyInt(), any(String.class), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(mockBookingView));
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(BookingView.class));
         mockMvc.perform(getContentWithGetMethod("/bookings"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -181,7 +238,7 @@ class BookingControllerTest {
 
     @Test
     void testFindAllByBookerIdStateIsUnsupported() throws Exception {
-        when(bookingService.findAllByBookerId(anyInt(), any(String.class), anyInt(), anyInt()))
+        when(bookingService.findViewsByBookerId(anyInt(), any(String.class), any(), anyInt(), anyInt()))
                 .thenAnswer(result -> {
                     boolean flag = false;
                     for (BookingState state : BookingState.values()) {
@@ -193,7 +250,7 @@ class BookingControllerTest {
                     if (!flag) {
                         throw new ValidationException("Unknown state: " + result);
                     } else {
-                        return List.of(mockBooking);
+                        return List.of(mockBookingView);
                     }
                 });
 
@@ -205,9 +262,9 @@ class BookingControllerTest {
 
     @Test
     void testFindAllByOwnerId() throws Exception {
-        when(bookingService.findAllByOwnerId(anyInt(), any(String.class), anyInt(), anyInt()))
-                .thenReturn(List.of(mockBooking));
-        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any());
+        when(bookingService.findViewsByOwnerId(anyInt(), any(String.class), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(mockBookingView));
+        doReturn(mockBookingDto).when(bookingMapper).toBookingDto(any(BookingView.class));
         mockMvc.perform(getContentWithGetMethod("/bookings/owner"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -223,7 +280,7 @@ class BookingControllerTest {
 
     @Test
     void testFindAllByOwnerIdStateIsUnsupported() throws Exception {
-        when(bookingService.findAllByOwnerId(anyInt(), any(String.class), anyInt(), anyInt()))
+        when(bookingService.findViewsByOwnerId(anyInt(), any(String.class), any(), anyInt(), anyInt()))
                 .thenAnswer(result -> {
                     boolean flag = false;
                     for (BookingState state : BookingState.values()) {
@@ -235,7 +292,7 @@ class BookingControllerTest {
                     if (!flag) {
                         throw new ValidationException("Unknown state: " + result);
                     } else {
-                    return List.of(mockBooking);
+                    return List.of(mockBookingView);
                 }
                 });
 
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * EXPLAIN для SQL, который Hibernate генерирует для каждого запроса {@link BookingRepository}:
+ * план должен идти по конкретному индексу из миграций, а не по индексу внешнего ключа.
+ */
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@Import(BookingRepositoryIndexTest.SqlCapture.class)
+class BookingRepositoryIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final BookingCursor CURSOR = new BookingCursor(NOW, 10);
+    private static final List<String> FOREIGN_KEYS = List.of("FK_BOOKING_ON_BOOKER", "FK_BOOKING_ON_OWNER",
+            "FK_BOOKING_ON_ITEM");
+    private static final List<BookingStatus> OCCUPYING = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    /**
+     * В PostgreSQL внешний ключ не создаёт индекс, а H2 заводит на каждый ключ свой одноколоночный индекс,
+     * и его оценщик предпочитает такой индекс составному. Ключи бронирований в этой базе снимаются, чтобы
+     * выбор, как и в PostgreSQL, шёл между индексами из миграций и полным просмотром таблицы.
+     */
+    @BeforeAll
+    static void dropForeignKeyIndexes(@Autowired DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String foreignKey : FOREIGN_KEYS) {
+                statement.execute("alter table bookings drop constraint " + foreignKey);
+            }
+        }
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                arguments("findViewsByBookerId ALL", query(repository ->
+                        repository.findViewsByBookerId(1, BookingState.ALL, null, 0, 20)), "IX_BOOKING_BOOKER_START"),
+                arguments("findViewsByBookerId CURRENT", query(repository ->
+                        repository.findViewsByBookerId(1, BookingState.CURRENT, null, 0, 20)),
+                        "IX_BOOKING_BOOKER_START"),
+                arguments("findViewsByBookerId PAST", query(repository ->
+                        repository.findViewsByBookerId(1, BookingState.PAST, null, 0, 20)), "IX_BOOKING_BOOKER_START"),
+                arguments("findViewsByBookerId FUTURE", query(repository ->
+                        repository.findViewsByBookerId(1, BookingState.FUTURE, null, 0, 20)),
+                        "IX_BOOKING_BOOKER_START"),
+                arguments("findViewsByBookerId WAITING", query(repository ->
+                        repository.findViewsByBookerId(1, BookingState.WAITING, null, 0, 20)),
+                        "IX_BOOKING_BOOKER_STATUS_START"),
+                arguments("findViewsByBookerId REJECTED", query(repository ->
+                        repository.findViewsByBookerId(1, BookingState.REJECTED, null, 0, 20)),
+                        "IX_BOOKING_BOOKER_STATUS_START"),
+                arguments("findViewsByBookerId после курсора", query(repository ->
+                        repository.findViewsByBookerId(1, BookingState.ALL, CURSOR, 0, 20)),
+                        "IX_BOOKING_BOOKER_START"),
+                arguments("findViewsByOwnerId ALL", query(repository ->
+                        repository.findViewsByOwnerId(1, BookingState.ALL, null, 0, 20)), "IX_BOOKING_OWNER_START"),
+                arguments("findViewsByOwnerId CURRENT", query(repository ->
+                        repository.findViewsByOwnerId(1, BookingState.CURRENT, null, 0, 20)),
+                        "IX_BOOKING_OWNER_START"),
+                arguments("findViewsByOwnerId PAST", query(repository ->
+                        repository.findViewsByOwnerId(1, BookingState.PAST, null, 0, 20)), "IX_BOOKING_OWNER_START"),
+                arguments("findViewsByOwnerId FUTURE", query(repository ->
+                        repository.findViewsByOwnerId(1, BookingState.FUTURE, null, 0, 20)),
+                        "IX_BOOKING_OWNER_START"),
+                arguments("findViewsByOwnerId WAITING", query(repository ->
+                        repository.findViewsByOwnerId(1, BookingState.WAITING, null, 0, 20)),
+                        "IX_BOOKING_OWNER_STATUS_START"),
+                arguments("findViewsByOwnerId REJECTED", query(repository ->
+                        repository.findViewsByOwnerId(1, BookingState.REJECTED, null, 0, 20)),
+                        "IX_BOOKING_OWNER_STATUS_START"),
+                arguments("findViewsByOwnerId после курсора", query(repository ->
+                        repository.findViewsByOwnerId(1, BookingState.ALL, CURSOR, 0, 20)),
+                        "IX_BOOKING_OWNER_START"),
+                arguments("existsByBookerIdAndItemIdAndStatusAndStartBefore", query(repository ->
+                        repository.existsByBookerIdAndItemIdAndStatusAndStartBefore(1, 1,
+                                BookingStatus.APPROVED, NOW)), "IX_BOOKING_BOOKER_ITEM_STATUS_START"),
+                arguments("existsOverlapping", query(repository ->
+                        repository.existsOverlapping(1, NOW, NOW.plusDays(1),
+                                OCCUPYING)), "IX_BOOKING_ITEM_START"),
+                arguments("findTimelineByItemId", query(repository ->
+                        repository.findTimelineByItemId(1, OCCUPYING, NOW)),
+                        "IX_BOOKING_ITEM_STATUS_END"),
+                arguments("findBookingSummaryByItemIds", query(repository ->
+                        repository.findBookingSummaryByItemIds(List.of(1, 2), BookingStatus.APPROVED)),
+                        "IX_BOOKING_ITEM_STATUS_END")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void testQueryUsesIndex(String method, Consumer<BookingRepository> query, String index) throws SQLException {
+        sqlCapture.statements.clear();
+        query.accept(bookingRepository);
+
+        assertThat(sqlCapture.statements).isNotEmpty();
+        for (String sql : sqlCapture.statements) {
+            assertThat(explain(sql)).as(sql).contains("PUBLIC." + index + ":");
+        }
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("explain " + sql);
+             ResultSet plan = statement.executeQuery()) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+
+    private static Consumer<BookingRepository> query(Consumer<BookingRepository> query) {
+        return query;
+    }
+
+    /**
+     * Запоминает SQL, подготовленный Hibernate; H2 строит план и без значений параметров.
+     */
+    @TestConfiguration
+    static class SqlCapture implements StatementInspector, HibernatePropertiesCustomizer {
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public void customize(Map<String, Object> hibernateProperties) {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
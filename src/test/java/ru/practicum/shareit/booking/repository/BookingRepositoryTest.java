@@ -4,21 +4,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingSummary;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.Optional;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -34,6 +35,8 @@ class BookingRepositoryTest {
     private ItemRepository itemRepository;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
 
 
     private static final User mockUser1 = User.builder().id(1).name("User1")
@@ -49,26 +52,21 @@ class BookingRepositoryTest {
     private static final Booking mockBooking1 = Booking.builder().id(1)
             .start(LocalDate.now().atStartOfDay().plusDays(1))
             .end(LocalDate.now().atStartOfDay().plusDays(2))
-            .item(mockItem1).booker(mockUser2).status(BookingStatus.WAITING).build();
+            .item(mockItem1).booker(mockUser2).ownerId(mockUser1.getId()).status(BookingStatus.WAITING).build();
 
     private static final Booking mockBooking2 = Booking.builder().id(2)
             .start(LocalDate.now().atStartOfDay().plusMonths(1))
             .end(LocalDate.now().atStartOfDay().plusMonths(1).plusDays(3))
-            .item(mockItem1).booker(mockUser2).status(BookingStatus.APPROVED).build();
+            .item(mockItem1).booker(mockUser2).ownerId(mockUser1.getId()).status(BookingStatus.APPROVED).build();
 
     private static final Booking mockBooking3 = Booking.builder()
             .start(LocalDate.now().atStartOfDay().plusDays(4))
             .end(LocalDate.now().atStartOfDay().plusDays(5))
-            .item(mockItem2).booker(mockUser1).status(BookingStatus.WAITING).build();
+            .item(mockItem2).booker(mockUser1).ownerId(mockUser2.getId()).status(BookingStatus.WAITING).build();
 
     private static final Booking mockBooking4 = Booking.builder()
             .start(LocalDate.now().atStartOfDay().plusDays(6)).end(LocalDate.now().atStartOfDay().plusDays(7))
-            .item(mockItem2).booker(mockUser1).status(BookingStatus.REJECTED).build();
-
-    Pageable getPage() {
-        Sort sortById = Sort.by(Sort.Direction.DESC, "start");
-        return PageRequest.of(PAGE, SIZE, sortById);
-    }
+            .item(mockItem2).booker(mockUser1).ownerId(mockUser2.getId()).status(BookingStatus.REJECTED).build();
 
     @BeforeEach
     void saveData() {
@@ -83,118 +81,136 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void testFindAllByBookerId() {
+    void testFindViewsByBookerIdFuture() {
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerId(2, getPage());
+        List<BookingView> bookings = bookingRepository.findViewsByBookerId(2, BookingState.FUTURE, null, PAGE, SIZE);
 
-        assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+        assertThat(bookings).extracting(BookingView::getId).containsExactly(mockBooking2.getId(),
+                mockBooking1.getId());
     }
 
-
-
     @Test
-    void testFindAllByBookerIdAndEndIsBefore() {
+    void testFindViewsByBookerIdStatus() {
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerIdAndEndIsBefore(2,
-                LocalDateTime.now().plusDays(15), getPage());
+        List<BookingView> rejected = bookingRepository.findViewsByBookerId(1, BookingState.REJECTED, null,
+                PAGE, SIZE);
+        List<BookingView> waiting = bookingRepository.findViewsByBookerId(1, BookingState.WAITING, null, PAGE, SIZE);
 
-        assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(1).contains(mockBooking1);
+        assertThat(rejected).extracting(BookingView::getId).containsExactly(mockBooking4.getId());
+        assertThat(waiting).extracting(BookingView::getId).containsExactly(mockBooking3.getId());
     }
 
     @Test
-    void testFindAllByBookerId_StartIsAfter() {
+    void testFindViewsByBookerIdPastAndCurrent() {
+        Booking past = bookingRepository.save(booking(mockItem1, mockUser2, -3, -2));
+        Booking current = bookingRepository.save(booking(mockItem2, mockUser2, -1, 1));
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerAndFutureState(2, getPage());
+        List<BookingView> pastViews = bookingRepository.findViewsByBookerId(2, BookingState.PAST, null, PAGE, SIZE);
+        List<BookingView> currentViews = bookingRepository.findViewsByBookerId(2, BookingState.CURRENT, null,
+                PAGE, SIZE);
 
-        assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+        assertThat(pastViews).extracting(BookingView::getId).containsExactly(past.getId());
+        assertThat(currentViews).extracting(BookingView::getId).containsExactly(current.getId());
     }
 
     @Test
-    void testFindAllByBookerId_Status() {
+    void testFindViewsByOwnerId() {
 
-        Collection<Booking> bookings = bookingRepository.findAllByBookerIdAndStatus(1,
-                BookingStatus.REJECTED, getPage());
+        List<BookingView> all = bookingRepository.findViewsByOwnerId(1, BookingState.ALL, null, PAGE, SIZE);
+        List<BookingView> future = bookingRepository.findViewsByOwnerId(2, BookingState.FUTURE, null, PAGE, SIZE);
+        List<BookingView> rejected = bookingRepository.findViewsByOwnerId(2, BookingState.REJECTED, null,
+                PAGE, SIZE);
 
-        assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(1).contains(mockBooking4);
+        assertThat(all).extracting(BookingView::getId).containsExactly(mockBooking2.getId(), mockBooking1.getId());
+        assertThat(future).extracting(BookingView::getId).containsExactly(mockBooking4.getId(),
+                mockBooking3.getId());
+        assertThat(rejected).extracting(BookingView::getId).containsExactly(mockBooking4.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerId() {
+    void testFindViewsByOwnerIdPastAndCurrent() {
+        Booking past = bookingRepository.save(booking(mockItem1, mockUser2, -3, -2));
+        Booking current = bookingRepository.save(booking(mockItem1, mockUser2, -1, 1));
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerId(1, getPage());
+        List<BookingView> pastViews = bookingRepository.findViewsByOwnerId(1, BookingState.PAST, null, PAGE, SIZE);
+        List<BookingView> currentViews = bookingRepository.findViewsByOwnerId(1, BookingState.CURRENT, null,
+                PAGE, SIZE);
 
-        assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+        assertThat(pastViews).extracting(BookingView::getId).containsExactly(past.getId());
+        assertThat(currentViews).extracting(BookingView::getId).containsExactly(current.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerIdEndIsAfterAndStartIsBefore() {
+    void testFindViewsByOwnerIdPage() {
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(1,
-                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), getPage());
+        List<BookingView> bookings = bookingRepository.findViewsByOwnerId(2, BookingState.ALL, null, 1, 1);
 
-        assertThat(bookings).isNotEmpty();
-        assertThat(bookings).hasSize(1).contains(mockBooking1);
+        assertThat(bookings).extracting(BookingView::getId).containsExactly(mockBooking3.getId());
     }
 
     @Test
-    void testFindAllByItemOwnerIdEndIsBefore() {
-
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndIsBefore(1,
-                LocalDateTime.now().plusMonths(1).plusDays(4), getPage());
-
-        assertThat(bookings).hasSize(2).contains(mockBooking1, mockBooking2);
+    void testExistsByBookerIdAndItemIdAndStatusAndStartBefore() {
+
+        assertThat(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(1,
+                mockItem2.getId(), BookingStatus.WAITING, LocalDateTime.now().plusDays(7))).isTrue();
+        assertThat(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(1,
+                mockItem2.getId(), BookingStatus.WAITING, LocalDateTime.now().plusDays(3))).isFalse();
+        assertThat(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(1,
+                mockItem2.getId(), BookingStatus.APPROVED, LocalDateTime.now().plusDays(7))).isFalse();
     }
 
     @Test
-    void testFindAllByItemOwnerIdStartIsAfter() {
+    void testFindBookingSummaryByItemIds() {
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartIsAfter(2,
-                LocalDateTime.now().plusDays(2), getPage());
+        List<BookingSummary> bookings = bookingRepository.findBookingSummaryByItemIds(List.of(1, 2),
+                BookingStatus.APPROVED);
 
-        assertThat(bookings).hasSize(2).contains(mockBooking3, mockBooking4);
+        assertThat(bookings).hasSize(1);
+        assertThat(bookings.get(0).getId()).isEqualTo(mockBooking2.getId());
+        assertThat(bookings.get(0).getItemId()).isEqualTo(mockItem1.getId());
+        assertThat(bookings.get(0).getBookerId()).isEqualTo(mockUser2.getId());
+        assertThat(bookings.get(0).getEnd()).isEqualTo(mockBooking2.getEnd());
     }
 
     @Test
-    void testFindAllByItemOwnerIdStatus() {
+    void testFindViewsByBookerId() {
 
-        Collection<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStatus(1,
-                BookingStatus.WAITING, getPage());
+        List<BookingView> bookings = bookingRepository.findViewsByBookerId(2, BookingState.ALL, null, PAGE, SIZE);
 
-        assertThat(bookings).hasSize(1).contains(mockBooking1);
+        assertThat(bookings).extracting(BookingView::getId).containsExactly(mockBooking2.getId(),
+                mockBooking1.getId());
+        assertThat(bookings.get(1).getItemName()).isEqualTo(mockItem1.getName());
+        assertThat(bookings.get(1).getBookerEmail()).isEqualTo(mockUser2.getEmail());
+        assertThat(bookings.get(1).getStatus()).isEqualTo(BookingStatus.WAITING);
     }
 
     @Test
-    void testFindFirstByItemOwnerIdStatusOrderByEnd() {
+    void testFindViewsByOwnerIdWithStateAndCursor() {
 
-        Optional<Booking> bookings = bookingRepository.findFirstByItemIdAndStatusOrderByEnd(1,
-                BookingStatus.APPROVED);
+        List<BookingView> waiting = bookingRepository.findViewsByOwnerId(2, BookingState.WAITING, null, PAGE, SIZE);
+        List<BookingView> afterCursor = bookingRepository.findViewsByOwnerId(2, BookingState.ALL,
+                new BookingCursor(mockBooking4.getStart(), mockBooking4.getId()), PAGE, SIZE);
 
-        assertThat(bookings).isPresent();
-        assertThat(bookings.get()).isEqualTo(mockBooking2);
+        assertThat(waiting).extracting(BookingView::getId).containsExactly(mockBooking3.getId());
+        assertThat(afterCursor).extracting(BookingView::getId).containsExactly(mockBooking3.getId());
     }
 
     @Test
-    void testFindFirstByItemOwnerIdStatusOrderByEndDesc() {
+    void testFindViewsWithNullItemAvailability() {
+        bookingRepository.flush();
+        entityManager.createNativeQuery("update items set available = null where id = :id")
+                .setParameter("id", mockItem1.getId())
+                .executeUpdate();
 
-        Optional<Booking> bookings = bookingRepository.findFirstByItemIdAndStatusOrderByEndDesc(2,
-                BookingStatus.REJECTED);
+        List<BookingView> bookings = bookingRepository.findViewsByBookerId(2, BookingState.ALL, null, PAGE, SIZE);
 
-        assertThat(bookings).isPresent();
-        assertThat(bookings.get()).isEqualTo(mockBooking4);
+        assertThat(bookings).hasSize(2).extracting(BookingView::getItemAvailable).containsOnlyNulls();
     }
 
-    @Test
-    void testFindFirstByBookerIdAndItemId_StatusAndStartAreBefore() {
-
-        Optional<Booking> bookings = bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(1,
-                2, BookingStatus.WAITING, LocalDateTime.now().plusDays(7));
-
-        assertThat(bookings).isPresent();
-        assertThat(bookings.get()).isEqualTo(mockBooking3);
+    private Booking booking(Item item, User booker, int startDays, int endDays) {
+        return Booking.builder()
+                .start(LocalDateTime.now().plusDays(startDays))
+                .end(LocalDateTime.now().plusDays(endDays))
+                .item(item).booker(booker).ownerId(item.getOwner().getId()).status(BookingStatus.APPROVED).build();
     }
-}
\ No newline at end of file
+}
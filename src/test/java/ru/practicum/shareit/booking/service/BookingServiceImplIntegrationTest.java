@@ -4,19 +4,29 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.InputDataException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserMapper;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -31,6 +41,7 @@ class BookingServiceImplIntegrationTest {
     private final ItemService itemService;
     private final BookingService bookingService;
     private final UserMapper userMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     private final User mockOwner = User.builder()
             .id(1)
@@ -70,15 +81,15 @@ class BookingServiceImplIntegrationTest {
             .build();
 
     @Test
-    void testFindAllByBookerId() {
+    void testFindViewsByBookerId() {
         userService.addUser(userMapper.toUserDto(mockOwner));
         userService.addUser(userMapper.toUserDto(mockBooker));
         itemService.addItem(mockItem, mockOwner.getId());
         bookingService.createBooking(mockBooker.getId(), mockBooking1);
         bookingService.createBooking(mockBooker.getId(), mockBooking2);
 
-        Collection<Booking> bookings = bookingService.findAllByBookerId(mockBooker.getId(),
-                BookingState.WAITING.toString(), 0, 20);
+        Collection<BookingView> bookings = bookingService.findViewsByBookerId(mockBooker.getId(),
+                BookingState.WAITING.toString(), null, 0, 20);
 
         assertThat(bookings, hasSize(2));
         assertThat(bookings.stream().findFirst().isPresent(), is(true));
@@ -88,10 +99,122 @@ class BookingServiceImplIntegrationTest {
     }
 
     @Test
-    void testFindAllByBookerIdWrongUser() {
+    void testFindViewsByBookerIdWrongUser() {
         Exception exception = assertThrows(InputDataException.class, () ->
-                bookingService.findAllByBookerId(mockBooker.getId(), BookingState.WAITING.toString(), 0, 20));
+                bookingService.findViewsByBookerId(mockBooker.getId(), BookingState.WAITING.toString(), null, 0, 20));
 
         assertEquals("Пользователь не найден", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateBookingConcurrentlyForSameDates() throws InterruptedException {
+        int bookers = 16;
+        userService.addUser(userMapper.toUserDto(mockOwner));
+        itemService.addItem(mockItem, mockOwner.getId());
+        for (int i = 0; i < bookers; i++) {
+            userService.addUser(new UserDto(0, "Booker" + i, "booker" + i + "@ya.com"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(bookers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        for (int i = 0; i < bookers; i++) {
+            int bookerId = mockOwner.getId() + 1 + i;
+            executor.submit(() -> {
+                Booking booking = Booking.builder()
+                        .start(mockBooking2.getStart())
+                        .end(mockBooking2.getEnd())
+                        .item(Item.builder().id(mockItem.getId()).build())
+                        .build();
+                try {
+                    start.await();
+                    bookingService.createBooking(bookerId, booking);
+                    created.incrementAndGet();
+                } catch (ValidationException | InterruptedException ignored) {
+                    // бронирование отклонено как пересекающееся
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS), is(true));
+
+        assertThat(created.get(), equalTo(1));
+        assertThat(bookingService.findViewsByOwnerId(mockOwner.getId(), BookingState.ALL.toString(), null, 0, 20),
+                hasSize(1));
+    }
+
+    @Test
+    void testCreateBookingRejectsOverlapMissingFromIndex() {
+        userService.addUser(userMapper.toUserDto(mockOwner));
+        userService.addUser(userMapper.toUserDto(mockBooker));
+        itemService.addItem(mockItem, mockOwner.getId());
+        assertThat(itemService.isAvailable(mockItem.getId(), mockBooking1.getStart(), mockBooking1.getEnd()),
+                is(true));
+        jdbcTemplate.update("insert into bookings (id, date_from, date_to, item_id, booker_id, owner_id, status)"
+                        + " values (1000, ?, ?, ?, ?, ?, 'APPROVED')", mockBooking1.getStart(), mockBooking1.getEnd(),
+                mockItem.getId(), mockBooker.getId(), mockOwner.getId());
+
+        Exception exception = assertThrows(ValidationException.class, () ->
+                bookingService.createBooking(mockBooker.getId(), newBooking(mockBooking1)));
+
+        assertEquals("Вещь уже забронирована на эти даты", exception.getMessage());
+        assertThat(itemService.isAvailable(mockItem.getId(), mockBooking1.getStart(), mockBooking1.getEnd()),
+                is(false));
+    }
+
+    @Test
+    void testCreateBookingIgnoresStaleIndexEntry() {
+        userService.addUser(userMapper.toUserDto(mockOwner));
+        userService.addUser(userMapper.toUserDto(mockBooker));
+        itemService.addItem(mockItem, mockOwner.getId());
+        Booking first = bookingService.createBooking(mockBooker.getId(), newBooking(mockBooking1));
+        assertThat(itemService.isAvailable(mockItem.getId(), mockBooking1.getStart(), mockBooking1.getEnd()),
+                is(false));
+        jdbcTemplate.update("update bookings set status = 'REJECTED' where id = ?", first.getId());
+
+        Booking second = bookingService.createBooking(mockBooker.getId(), newBooking(mockBooking1));
+
+        assertThat(second.getId(), not(equalTo(first.getId())));
+    }
+
+    @Test
+    void testCreateBookings() {
+        userService.addUser(userMapper.toUserDto(mockOwner));
+        userService.addUser(userMapper.toUserDto(mockBooker));
+        itemService.addItem(mockItem, mockOwner.getId());
+
+        List<Booking> bookings = bookingService.createBookings(mockBooker.getId(),
+                List.of(newBooking(mockBooking1), newBooking(mockBooking2)));
+
+        assertThat(bookings, hasSize(2));
+        assertThat(bookings.get(0).getId(), not(equalTo(bookings.get(1).getId())));
+        assertThat(bookingService.findViewsByBookerId(mockBooker.getId(), BookingState.ALL.toString(), null, 0, 20),
+                hasSize(2));
+    }
+
+    @Test
+    void testCreateBookingsRollsBackOnOverlap() {
+        userService.addUser(userMapper.toUserDto(mockOwner));
+        userService.addUser(userMapper.toUserDto(mockBooker));
+        itemService.addItem(mockItem, mockOwner.getId());
+
+        Exception exception = assertThrows(ValidationException.class, () ->
+                bookingService.createBookings(mockBooker.getId(),
+                        List.of(newBooking(mockBooking2), newBooking(mockBooking2))));
+
+        assertEquals("Вещь уже забронирована на эти даты", exception.getMessage());
+        assertThat(bookingService.findViewsByBookerId(mockBooker.getId(), BookingState.ALL.toString(), null, 0, 20),
+                empty());
+        assertThat(bookingService.createBooking(mockBooker.getId(), newBooking(mockBooking2)).getId(),
+                greaterThan(0));
+    }
+
+    private Booking newBooking(Booking booking) {
+        return Booking.builder()
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(Item.builder().id(mockItem.getId()).build())
+                .build();
+    }
+}
@@ -4,12 +4,15 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -42,6 +45,8 @@ public class BookingServiceImplUnitTest {
     private ItemService itemService;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemAvailabilityIndex availabilityIndex;
     private BookingService bookingService;
     private MockitoSession mockitoSession;
     private final ItemMapper itemMapper;
@@ -49,7 +54,8 @@ public class BookingServiceImplUnitTest {
     @BeforeEach
     void setUp() {
         mockitoSession = Mockito.mockitoSession().initMocks(this).startMocking();
-        bookingService = new BookingServiceImpl(itemService, userService, bookingRepository, itemMapper);
+        bookingService = new BookingServiceImpl(itemService, userService, bookingRepository, itemMapper,
+                availabilityIndex);
     }
 
     @AfterEach
@@ -96,7 +102,9 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void testCreateBooking() throws ValidationException {
-        Mockito.when(itemService.getItemById(anyInt(), anyInt())).thenReturn(mockItem1);
+        Mockito.when(itemService.getItemForBooking(anyInt())).thenReturn(mockItem1);
+        Mockito.when(bookingRepository.existsOverlapping(anyInt(), Mockito.any(LocalDateTime.class),
+                Mockito.any(LocalDateTime.class), Mockito.anyCollection())).thenReturn(false);
         Mockito.when(bookingRepository.save(Mockito.any(Booking.class))).thenReturn(mockBooking1);
         Booking booking = bookingService.createBooking(2, mockBooking1);
         Mockito.verify(bookingRepository, Mockito.times(1)).save(mockBooking1);
@@ -105,9 +113,22 @@ public class BookingServiceImplUnitTest {
         assertThat(booking.getEnd(), equalTo(mockBooking1.getEnd()));
     }
 
+    @Test
+    void testCreateBookingOverlapping() {
+        Mockito.when(itemService.getItemForBooking(anyInt())).thenReturn(mockItem1);
+        Mockito.when(bookingRepository.existsOverlapping(anyInt(), Mockito.any(LocalDateTime.class),
+                Mockito.any(LocalDateTime.class), Mockito.anyCollection())).thenReturn(true);
+
+        Exception exception = assertThrows(ValidationException.class, () ->
+                bookingService.createBooking(2, mockBooking1));
+
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+        assertEquals("Вещь уже забронирована на эти даты", exception.getMessage());
+    }
+
     @Test
     void testCreateBookingFailedValidationBookingStartFromLast() throws ValidationException {
-        Mockito.when(itemService.getItemById(anyInt(), anyInt())).thenReturn(mockItem1);
+        Mockito.when(itemService.getItemForBooking(anyInt())).thenReturn(mockItem1);
 
         Exception exception = assertThrows(ValidationException.class, () ->
                 bookingService.createBooking(2, mockBookingStartFromLast));
@@ -117,7 +138,7 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void testCreateBookingFailedValidationBookingEndFromLast() throws ValidationException {
-        Mockito.when(itemService.getItemById(anyInt(), anyInt())).thenReturn(mockItem1);
+        Mockito.when(itemService.getItemForBooking(anyInt())).thenReturn(mockItem1);
 
         Exception exception = assertThrows(ValidationException.class, () ->
                 bookingService.createBooking(2, mockBookingEndFromLast));
@@ -127,7 +148,7 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void testCreateBookingFailedValidationBookingStartAfterEnd() throws ValidationException {
-        Mockito.when(itemService.getItemById(anyInt(), anyInt())).thenReturn(mockItem1);
+        Mockito.when(itemService.getItemForBooking(anyInt())).thenReturn(mockItem1);
 
         Exception exception = assertThrows(ValidationException.class, () ->
                 bookingService.createBooking(2, mockBookingStartAfterEnd));
@@ -137,7 +158,7 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void testCreateBookingFailedValidationBookingWrongUser() throws ValidationException {
-        Mockito.when(itemService.getItemById(anyInt(), anyInt())).thenReturn(mockItem1);
+        Mockito.when(itemService.getItemForBooking(anyInt())).thenReturn(mockItem1);
 
         Exception exception = assertThrows(InputDataException.class, () ->
                 bookingService.createBooking(1, mockBookingWrongUser));
@@ -147,7 +168,7 @@ public class BookingServiceImplUnitTest {
 
     @Test
     void testCreateBookingFailedValidationItem() throws ValidationException {
-        Mockito.when(itemService.getItemById(anyInt(), anyInt())).thenReturn(mockItemUnAvailable);
+        Mockito.when(itemService.getItemForBooking(anyInt())).thenReturn(mockItemUnAvailable);
 
         Exception exception1 = assertThrows(ValidationException.class, () ->
                 bookingService.createBooking(2, mockBookingUnAvailable));
@@ -234,192 +255,65 @@ public class BookingServiceImplUnitTest {
         assertEquals("У пользователя нет прав на бронирование", exception.getMessage());
     }
 
-    @Test
-    void testFindAllByBookerIdStateAll() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByBookerId(anyInt(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2, mockBooking3));
-
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1, BookingState.ALL.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerId(anyInt(), Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(3));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2, mockBooking3)));
-    }
-
-    @Test
-    void testFindAllByBookerIdStateCurrent() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findForBookerCurrent(anyInt(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2, mockBooking3));
-
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1,
-                BookingState.CURRENT.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findForBookerCurrent(anyInt(), Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking2, mockBooking3)));
-    }
-
-    @Test
-    void testFindAllByBookerIdStatePast() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByBookerIdAndEndIsBefore(anyInt(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2));
-
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1, BookingState.PAST.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndEndIsBefore(anyInt(), Mockito.any(LocalDateTime.class),
-                        Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2)));
-    }
-
-    @Test
-    void testFindAllByBookerIdStateFuture() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByBookerAndFutureState(anyInt(),
-                        Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking3));
-
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1, BookingState.FUTURE.toString(), 0, 20);
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void testFindViewsByBookerId(BookingState state) throws InputDataException, ValidationException {
+        Mockito.when(bookingRepository.findViewsByBookerId(1, state, null, 0, 20))
+                .thenReturn(List.of(toView(mockBooking3), toView(mockBooking1)));
 
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerAndFutureState(anyInt(),
-                        Mockito.any(Pageable.class));
+        Collection<BookingView> bookings = bookingService.findViewsByBookerId(1, state.toString(), null, 0, 20);
 
         assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking3)));
-    }
-
-    @Test
-    void testFindAllByBookerIdStateWaiting() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByBookerIdAndStatus(anyInt(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking3));
-
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1,
-                BookingState.WAITING.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndStatus(anyInt(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking3)));
-    }
-
-    @Test
-    void testFindAllByBookerIdStateRejected() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByBookerIdAndStatus(anyInt(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2));
-
-        Collection<Booking> bookings = bookingService.findAllByBookerId(1,
-                BookingState.REJECTED.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByBookerIdAndStatus(anyInt(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking2)));
-    }
-
-    @Test
-    void testFindAllByOwnerIdStateAll() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByItemOwnerId(anyInt(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2, mockBooking3));
-
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1, BookingState.ALL.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerId(anyInt(), Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(3));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(toView(mockBooking3), toView(mockBooking1))));
     }
 
-    @Test
-    void testFindAllByOwnerIdStateCurrent() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(anyInt(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2, mockBooking3));
-
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1, BookingState.CURRENT.toString(), 0, 20);
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void testFindViewsByOwnerId(BookingState state) throws InputDataException, ValidationException {
+        Mockito.when(bookingRepository.findViewsByOwnerId(1, state, null, 0, 20))
+                .thenReturn(List.of(toView(mockBooking2)));
 
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndEndIsAfterAndStartIsBefore(anyInt(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class));
+        Collection<BookingView> bookings = bookingService.findViewsByOwnerId(1, state.toString(), null, 0, 20);
 
-        assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking2, mockBooking3)));
+        assertThat(bookings, equalTo(List.of(toView(mockBooking2))));
     }
 
     @Test
-    void testGetAllByOwnerIdStatePast() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndEndIsBefore(anyInt(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking2));
-
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1, BookingState.PAST.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndEndIsBefore(anyInt(), Mockito.any(LocalDateTime.class),
-                        Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking2)));
+    void testFindViewsByBookerIdPageAndCursor() {
+        BookingCursor cursor = new BookingCursor(mockBooking2.getStart().withNano(0), mockBooking2.getId());
+        Mockito.when(bookingRepository.findViewsByBookerId(1, BookingState.ALL, null, 20, 10))
+                .thenReturn(List.of(toView(mockBooking1)));
+        Mockito.when(bookingRepository.findViewsByBookerId(1, BookingState.ALL, cursor, 0, 10))
+                .thenReturn(List.of(toView(mockBooking3)));
+
+        assertThat(bookingService.findViewsByBookerId(1, "ALL", null, 25, 10),
+                equalTo(List.of(toView(mockBooking1))));
+        assertThat(bookingService.findViewsByBookerId(1, "ALL", cursor.getStart() + "," + cursor.getId(), 0, 10),
+                equalTo(List.of(toView(mockBooking3))));
     }
 
     @Test
-    void testGetAllByOwnerIdStateFuture() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStartIsAfter(anyInt(),
-                        Mockito.any(LocalDateTime.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking1, mockBooking3));
-
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1, BookingState.FUTURE.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndStartIsAfter(anyInt(), Mockito.any(LocalDateTime.class),
-                        Mockito.any(Pageable.class));
+    void testFindViewsByOwnerIdWrongPage() {
+        Exception exception = assertThrows(ValidationException.class, () ->
+                bookingService.findViewsByOwnerId(1, "ALL", null, -1, 20));
 
-        assertThat(bookings, hasSize(2));
-        assertThat(bookings, equalTo(List.of(mockBooking1, mockBooking3)));
+        assertEquals("Размер страницы не соответствует исходным данным", exception.getMessage());
     }
 
     @Test
-    void testGetAllByOwnerIdStateWaiting() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatus(anyInt(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking3));
+    void testFindViewsByOwnerIdWrongCursor() {
+        Mockito.when(userService.isContainsUser(anyInt())).thenReturn(true);
 
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1, BookingState.WAITING.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndStatus(anyInt(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
+        Exception exception = assertThrows(ValidationException.class, () ->
+                bookingService.findViewsByOwnerId(1, "ALL", "yesterday", 0, 20));
 
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking3)));
+        assertEquals("Некорректный курсор: yesterday", exception.getMessage());
     }
 
-    @Test
-    void testGetAllByOwnerIdStateRejected() throws InputDataException, ValidationException {
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatus(anyInt(),
-                        Mockito.any(BookingStatus.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockBooking2));
-
-        Collection<Booking> bookings = bookingService.findAllByOwnerId(1, BookingState.REJECTED.toString(), 0, 20);
-
-        Mockito.verify(bookingRepository, Mockito.times(1))
-                .findAllByItemOwnerIdAndStatus(anyInt(), Mockito.any(BookingStatus.class),
-                        Mockito.any(Pageable.class));
-
-        assertThat(bookings, hasSize(1));
-        assertThat(bookings, equalTo(List.of(mockBooking2)));
+    private BookingView toView(Booking booking) {
+        return new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem().getId(), booking.getItem().getName(), booking.getItem().getDescription(),
+                booking.getItem().getAvailable(), booking.getBooker().getId(), booking.getBooker().getName(),
+                booking.getBooker().getEmail());
     }
 }
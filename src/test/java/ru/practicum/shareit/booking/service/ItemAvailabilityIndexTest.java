@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingSummary;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+class ItemAvailabilityIndexTest {
+    private final LocalDateTime day = LocalDate.now().atStartOfDay().plusDays(10);
+    private final Item item = Item.builder().id(1).build();
+
+    private BookingRepository bookingRepository;
+    private ItemAvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = Mockito.mock(BookingRepository.class);
+        availabilityIndex = new ItemAvailabilityIndex(bookingRepository, 2, Duration.ofMinutes(1));
+        List<BookingSummary> bookings = List.of(summary(1, day, day.plusDays(2)),
+                summary(2, day.plusDays(5), day.plusDays(6)));
+        Mockito.when(bookingRepository.findTimelineByItemId(anyInt(), anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(bookings);
+    }
+
+    @Test
+    void testIsFree() {
+        assertTrue(availabilityIndex.isFree(1, day.minusDays(2), day));
+        assertTrue(availabilityIndex.isFree(1, day.plusDays(2), day.plusDays(5)));
+        assertFalse(availabilityIndex.isFree(1, day.plusDays(1), day.plusDays(3)));
+        assertFalse(availabilityIndex.isFree(1, day.minusDays(1), day.plusDays(10)));
+        assertFalse(availabilityIndex.isFree(1, day.plusDays(5).plusHours(1), day.plusDays(5).plusHours(2)));
+
+        Mockito.verify(bookingRepository, Mockito.times(1))
+                .findTimelineByItemId(anyInt(), anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testOccupyAndRelease() {
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+        Booking booking = Booking.builder().id(3).item(item).start(day.plusDays(3)).end(day.plusDays(4)).build();
+
+        availabilityIndex.occupy(booking);
+        assertFalse(availabilityIndex.isFree(1, day.plusDays(3), day.plusDays(4)));
+
+        availabilityIndex.release(booking);
+        assertTrue(availabilityIndex.isFree(1, day.plusDays(3), day.plusDays(4)));
+    }
+
+    @Test
+    void testSameStartKeepsBothBookings() {
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+        Booking longer = Booking.builder().id(3).item(item).start(day.plusDays(3)).end(day.plusDays(5)).build();
+        Booking shorter = Booking.builder().id(4).item(item).start(day.plusDays(3)).end(day.plusDays(4)).build();
+
+        availabilityIndex.occupy(longer);
+        availabilityIndex.occupy(shorter);
+        assertFalse(availabilityIndex.isFree(1, day.plusDays(4), day.plusDays(5)));
+
+        availabilityIndex.release(shorter);
+        assertFalse(availabilityIndex.isFree(1, day.plusDays(4), day.plusDays(5)));
+        availabilityIndex.release(longer);
+        assertTrue(availabilityIndex.isFree(1, day.plusDays(3), day.plusDays(5)));
+    }
+
+    @Test
+    void testEarlierLongerBookingCoversLaterInterval() {
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+        Booking longer = Booking.builder().id(3).item(item).start(day.plusDays(3)).end(day.plusDays(9)).build();
+        Booking shorter = Booking.builder().id(4).item(item).start(day.plusDays(4)).end(day.plusDays(5)).build();
+
+        availabilityIndex.occupy(longer);
+        availabilityIndex.occupy(shorter);
+        assertFalse(availabilityIndex.isFree(1, day.plusDays(7), day.plusDays(8)));
+        assertFalse(availabilityIndex.isFree(1, day.plusDays(5), day.plusDays(6)));
+        assertTrue(availabilityIndex.isFree(1, day.plusDays(9), day.plusDays(10)));
+    }
+
+    @Test
+    void testReleaseRolledBack() {
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityIndex.release(Booking.builder().id(1).item(item).start(day).end(day.plusDays(2)).build());
+            assertTrue(availabilityIndex.isFree(1, day, day.plusDays(1)));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(availabilityIndex.isFree(1, day, day.plusDays(1)));
+        Mockito.verify(bookingRepository, Mockito.times(2))
+                .findTimelineByItemId(anyInt(), anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testVerifyEvictsDivergingTimeline() {
+        availabilityIndex.isFree(1, day.plusDays(3), day.plusDays(4));
+        availabilityIndex.verify(1, day.plusDays(3), day.plusDays(4), true);
+        availabilityIndex.isFree(1, day.plusDays(3), day.plusDays(4));
+        availabilityIndex.verify(1, day.plusDays(3), day.plusDays(4), false);
+        availabilityIndex.isFree(1, day.plusDays(3), day.plusDays(4));
+
+        Mockito.verify(bookingRepository, Mockito.times(2))
+                .findTimelineByItemId(anyInt(), anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testExpiredTimelineReloaded() {
+        availabilityIndex = new ItemAvailabilityIndex(bookingRepository, 2, Duration.ZERO.minusSeconds(1));
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+
+        Mockito.verify(bookingRepository, Mockito.times(2))
+                .findTimelineByItemId(anyInt(), anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testEviction() {
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+        availabilityIndex.isFree(2, day, day.plusDays(1));
+        availabilityIndex.isFree(3, day, day.plusDays(1));
+        availabilityIndex.isFree(1, day, day.plusDays(1));
+
+        Mockito.verify(bookingRepository, Mockito.times(4))
+                .findTimelineByItemId(anyInt(), anyCollection(), any(LocalDateTime.class));
+    }
+
+    private BookingSummary summary(int id, LocalDateTime start, LocalDateTime end) {
+        BookingSummary summary = Mockito.mock(BookingSummary.class);
+        Mockito.when(summary.getId()).thenReturn(id);
+        Mockito.when(summary.getStart()).thenReturn(start);
+        Mockito.when(summary.getEnd()).thenReturn(end);
+        return summary;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.context;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.user.model.User;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class RequestIdentityMapTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestIdentityMap identityMap = new RequestIdentityMap(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testContainsRememberedId() {
+        identityMap.remember(User.class, 1);
+
+        assertThat(identityMap.contains(User.class, 1), is(true));
+        assertThat(identityMap.contains(User.class, 2), is(false));
+        assertThat(count("hit"), equalTo(1.0));
+        assertThat(count("miss"), equalTo(1.0));
+    }
+
+    @Test
+    void testForget() {
+        identityMap.remember(User.class, 1);
+        identityMap.forget(User.class, 1);
+
+        assertThat(identityMap.contains(User.class, 1), is(false));
+    }
+
+    @Test
+    void testNothingRememberedWithoutRequest() {
+        RequestContextHolder.resetRequestAttributes();
+
+        identityMap.remember(User.class, 1);
+
+        assertThat(identityMap.contains(User.class, 1), is(false));
+        assertThat(meterRegistry.find("shareit.identity.map.lookups").counters().isEmpty(), is(true));
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("shareit.identity.map.lookups",
+                "entity", "User", "result", result, "endpoint", "/bookings").count();
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.datasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.ItemRequestService;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reactive")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReactiveReadTest {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+
+    @BeforeEach
+    void saveData() {
+        userService.addUser(new UserDto(0, "Owner", "owner@ya.ru"));
+        userService.addUser(new UserDto(0, "Booker", "booker@ya.ru"));
+        for (int i = 0; i < 3; i++) {
+            itemService.addItem(Item.builder().name("Item" + i).description("Description" + i).available(true)
+                    .build(), 1);
+        }
+        for (int day = 1; day <= 3; day++) {
+            bookingService.createBooking(2, Booking.builder()
+                    .start(LocalDate.now().atStartOfDay().plusDays(day))
+                    .end(LocalDate.now().atStartOfDay().plusDays(day).plusHours(12))
+                    .item(Item.builder().id(1).build())
+                    .build());
+        }
+        bookingService.setApproved(1, 1, true);
+        bookingService.setApproved(1, 3, true);
+        itemRequestService.createRequest(2, ItemRequest.builder().description("Нужна дрель").build());
+    }
+
+    @Test
+    void testBookingsByOwnerMatchJdbcRoute() throws Exception {
+        for (String state : List.of("ALL", "FUTURE", "WAITING", "PAST")) {
+            List<JsonNode> streamed = stream("/bookings/owner?from=0&size=2&state=" + state, 1);
+
+            assertThat(streamed, equalTo(json("/bookings/owner?from=0&size=2&state=" + state, 1)));
+        }
+        assertThat(stream("/bookings/owner?state=ALL", 1).size(), equalTo(3));
+    }
+
+    @Test
+    void testBookingsByBookerMatchJdbcRoute() throws Exception {
+        List<JsonNode> streamed = stream("/bookings?state=FUTURE", 2);
+
+        assertThat(streamed, equalTo(json("/bookings?state=FUTURE", 2)));
+        assertThat(streamed.get(0).get("id").asInt(), equalTo(3));
+    }
+
+    @Test
+    void testItemsMatchJdbcRoute() throws Exception {
+        List<JsonNode> streamed = stream("/items?from=0&size=20", 1);
+
+        assertThat(streamed, equalTo(json("/items?from=0&size=20", 1)));
+        assertThat(streamed.size(), equalTo(3));
+        assertThat(streamed.get(0).get("lastBooking").get("id").asInt(), equalTo(1));
+        assertThat(streamed.get(0).get("nextBooking").get("id").asInt(), equalTo(3));
+    }
+
+    @Test
+    void testRequestsMatchJdbcRoute() throws Exception {
+        List<JsonNode> streamed = stream("/requests/all?from=0&size=20", 1);
+
+        assertThat(streamed, equalTo(json("/requests/all?from=0&size=20", 1)));
+        assertThat(streamed.size(), equalTo(1));
+        assertThat(stream("/requests/all", 2), empty());
+    }
+
+    @Test
+    void testUnknownStateRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/bookings/owner?state=UNSUPPORTED").header(HEADER_USER_ID, 1)
+                        .accept(APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUnknownUserNotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/items").header(HEADER_USER_ID, 99).accept(APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testToR2dbcUrl() {
+        assertThat(ReactiveDataSourceConfig.toR2dbcUrl("jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"),
+                equalTo("r2dbc:h2:mem:///shareit?DB_CLOSE_DELAY=-1&MODE=PostgreSQL"));
+        assertThat(ReactiveDataSourceConfig.toR2dbcUrl("jdbc:postgresql://localhost:5432/shareit"),
+                equalTo("r2dbc:postgresql://localhost:5432/shareit"));
+    }
+
+    private List<JsonNode> stream(String path, int userId) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header(HEADER_USER_ID, userId).accept(APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                nodes.add(objectMapper.readTree(line));
+            }
+        }
+        return nodes;
+    }
+
+    private List<JsonNode> json(String path, int userId) throws Exception {
+        String body = mockMvc.perform(get(path).header(HEADER_USER_ID, userId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> nodes = new ArrayList<>();
+        objectMapper.readTree(body).forEach(nodes::add);
+        return nodes;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Размеры пулов из профиля virtual-threads должны доходить и до обоих пулов при включённой реплике.
+ * Исполнитель виртуальных потоков подменён: тест должен проходить и на JVM без них.
+ */
+@SpringBootTest(properties = {
+        "shareit.datasource.replica.url=jdbc:h2:mem:replica-pool",
+        "shareit.datasource.pool-size=7"
+})
+@ActiveProfiles({"test", "virtual-threads"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReplicaPoolSettingsTest {
+    @MockBean
+    private ExecutorService virtualThreadExecutor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Test
+    void testHikariSettingsAppliedToBothPools() {
+        for (HikariDataSource pool : new HikariDataSource[]{primaryDataSource, replicaDataSource}) {
+            assertThat(pool.getMaximumPoolSize(), equalTo(7));
+            assertThat(pool.getMinimumIdle(), equalTo(7));
+            assertThat(pool.getConnectionTimeout(), equalTo(3000L));
+        }
+        assertThat(replicaDataSource.getJdbcUrl(), equalTo("jdbc:h2:mem:replica-pool"));
+    }
+}
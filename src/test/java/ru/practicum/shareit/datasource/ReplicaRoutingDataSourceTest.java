@@ -0,0 +1,42 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalToIgnoringCase;
+
+@SpringBootTest(properties = "shareit.datasource.replica.url=jdbc:h2:mem:replica")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReplicaRoutingDataSourceTest {
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        String database = transaction.execute(status ->
+                jdbcTemplate.queryForObject("select database()", String.class));
+
+        assertThat(database, equalToIgnoringCase("replica"));
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        String database = transaction.execute(status ->
+                jdbcTemplate.queryForObject("select database()", String.class));
+
+        assertThat(database, equalToIgnoringCase("shareit"));
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ExportControllerTest {
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+
+    @BeforeEach
+    void saveData() {
+        userService.addUser(new UserDto(0, "Owner", "owner@ya.ru"));
+        userService.addUser(new UserDto(0, "Booker", "booker@ya.ru"));
+        for (int i = 0; i < 3; i++) {
+            itemService.addItem(Item.builder().name("Item" + i).description("Description" + i).available(true)
+                    .build(), 1);
+        }
+        bookingService.createBooking(2, Booking.builder()
+                .start(LocalDate.now().atStartOfDay().plusDays(1))
+                .end(LocalDate.now().atStartOfDay().plusDays(2))
+                .item(Item.builder().id(1).build())
+                .build());
+    }
+
+    @Test
+    void testExportItems() throws Exception {
+        String[] lines = export("/export/items");
+
+        assertThat(lines.length, equalTo(3));
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("name").asText(), equalTo("Item0"));
+        assertThat(first.get("ownerEmail").asText(), equalTo("owner@ya.ru"));
+    }
+
+    @Test
+    void testExportBookings() throws Exception {
+        String[] lines = export("/export/bookings");
+
+        assertThat(lines.length, equalTo(1));
+        JsonNode booking = objectMapper.readTree(lines[0]);
+        assertThat(booking.get("itemName").asText(), equalTo("Item0"));
+        assertThat(booking.get("bookerId").asInt(), equalTo(2));
+        assertThat(booking.get("status").asText(), equalTo("WAITING"));
+    }
+
+    @Test
+    void testExportCommentsEmpty() throws Exception {
+        assertThat(export("/export/comments"), emptyArray());
+    }
+
+    private String[] export(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        return body.isEmpty() ? new String[0] : body.split("\n");
+    }
+}
@@ -11,9 +11,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.ItemImportService;
+import ru.practicum.shareit.item.ItemReactiveService;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportReport;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -28,6 +31,8 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -45,6 +50,10 @@ class ItemControllerTest {
     private ItemMapper itemMapper;
     @MockBean
     private CommentMapper commentMapper;
+    @MockBean
+    private ItemImportService itemImportService;
+    @MockBean
+    private ItemReactiveService itemReactiveService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -116,6 +125,41 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.comments", is(mockItemDto.getComments())));
     }
 
+    @Test
+    void testCreateItems() throws Exception {
+        when(itemService.addItems(anyList(), any(Integer.class))).thenReturn(List.of(mockItem, mockItem));
+        doReturn(mockItemDto).when(itemMapper).toItemDto(any());
+
+        mockMvc.perform(post("/items/batch")
+                        .content(objectMapper.writeValueAsString(List.of(mockItemDto, mockItemDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$.[1].name", is(mockItemDto.getName())));
+    }
+
+    @Test
+    void testImportItemsCsv() throws Exception {
+        ItemImportReport report = new ItemImportReport();
+        report.setImported(1);
+        report.setFailed(1);
+        report.getErrors().add(new ItemImportReport.RowError(3, "Некорректное значение available: maybe"));
+        when(itemImportService.importItems(anyInt(), any(), eq(ItemImportService.Format.CSV))).thenReturn(report);
+
+        mockMvc.perform(post("/items/import")
+                        .content("name,description,available\nDrill,Cordless,true\nSaw,Hand,maybe\n")
+                        .contentType("text/csv")
+                        .header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+    }
+
     @Test
     void testFindItemById() throws Exception {
         when(itemService.getItemById(any(Integer.class), any(Integer.class)))
@@ -157,9 +201,8 @@ class ItemControllerTest {
 
     @Test
     void testFindAllByUserId() throws Exception {
-        when(itemService.getItemsByUserId(anyInt(), anyInt(), anyInt()))
-                .thenReturn(List.of(mockItem));
-        doReturn(mockItemDto).when(itemMapper).toItemDto(any());
+        when(itemService.getItemDtosByUserId(anyInt(), anyInt(), anyInt()))
+                .thenReturn(List.of(mockItemDto));
 
         mockMvc.perform(get("/items")
                         .header(HEADER_USER_ID, 1))
@@ -226,9 +269,8 @@ class ItemControllerTest {
 
     @Test
     void testSearchItemByText() throws Exception {
-        when(itemService.getItemsBySubString(any(String.class), any(Integer.class), any(Integer.class)))
-                .thenReturn(List.of(mockItem));
-        doReturn(mockItemDto).when(itemMapper).toItemDto(any());
+        when(itemService.getItemDtosBySubString(any(String.class), any(Integer.class), any(Integer.class)))
+                .thenReturn(List.of(mockItemDto));
 
         mockMvc.perform(get("/items/search")
                         .header(HEADER_USER_ID, 1)
@@ -270,6 +312,20 @@ class ItemControllerTest {
                         .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))));
     }
 
+    @Test
+    void testGetAvailability() throws Exception {
+        when(itemService.isAvailable(anyInt(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(1)))
+                .andExpect(jsonPath("$.from", is("2030-01-01T10:00:00")))
+                .andExpect(jsonPath("$.available", is(true)));
+    }
+
     MockHttpServletRequestBuilder getContentWithPostMethod(String url) throws JsonProcessingException {
         return post(url)
                 .content(objectMapper.writeValueAsString(mockItemDto))
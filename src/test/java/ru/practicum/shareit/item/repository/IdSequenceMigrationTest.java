@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * База, в которой до V7 уже были строки: после миграции последовательности не должны
+ * выдавать занятые идентификаторы ни в первом, ни в следующих блоках.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + IdSequenceMigrationTest.URL)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class IdSequenceMigrationTest {
+    static final String URL = "jdbc:h2:mem:sequences;DB_CLOSE_DELAY=-1";
+    private static final int EXISTING = 120;
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @BeforeAll
+    static void migrateExistingDatabase() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, "test", "test")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .target("6")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(URL, "test", "test")) {
+            connection.createStatement().execute("insert into users (id, name, email) values (1, 'Owner', 'o@ya.ru')");
+            try (PreparedStatement items = connection.prepareStatement(
+                    "insert into items (id, name, description, available, owner_id) values (?, ?, 'old', true, 1)");
+                 PreparedStatement bookings = connection.prepareStatement(
+                         "insert into bookings (id, date_from, date_to, item_id, booker_id, status)"
+                                 + " values (?, ?, ?, 1, 1, 'APPROVED')");
+                 PreparedStatement comments = connection.prepareStatement(
+                         "insert into comments (id, text, item_id, author_id) values (?, 'old', 1, 1)")) {
+                LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+                for (int id = 1; id <= EXISTING; id++) {
+                    items.setInt(1, id);
+                    items.setString(2, "Old" + id);
+                    items.executeUpdate();
+                    bookings.setInt(1, id);
+                    bookings.setObject(2, start.plusDays(id));
+                    bookings.setObject(3, start.plusDays(id).plusHours(1));
+                    bookings.executeUpdate();
+                    comments.setInt(1, id);
+                    comments.executeUpdate();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testInsertsAfterMigrationGetFreshIds() {
+        User owner = User.builder().id(1).build();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(Item.builder().name("New" + i).description("new").available(true).owner(owner).build());
+        }
+        List<Item> saved = itemRepository.saveAll(items);
+
+        Item item = saved.get(0);
+        Booking booking = bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.of(2030, 1, 1, 0, 0))
+                .end(LocalDateTime.of(2030, 1, 2, 0, 0))
+                .item(item)
+                .booker(owner)
+                .status(BookingStatus.WAITING)
+                .build());
+        Comment comment = commentRepository.save(Comment.builder().text("new").item(item).author(owner)
+                .created(LocalDateTime.now()).build());
+
+        assertThat(saved.stream().map(Item::getId).collect(Collectors.toList())).allMatch(id -> id > EXISTING);
+        assertThat(booking.getId()).isGreaterThan(EXISTING);
+        assertThat(comment.getId()).isGreaterThan(EXISTING);
+        assertThat(itemRepository.count()).isEqualTo(2L * EXISTING);
+    }
+}
@@ -5,14 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
-import java.util.Collection;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,10 +35,8 @@ class ItemRepositoryTest {
     private final Item mockItem2 = Item.builder().name("Item2")
             .description("Description2").available(true).owner(mockUser2).build();
 
-    Pageable getPage() {
-        Sort sortById = Sort.by(Sort.Direction.DESC, "id");
-        return PageRequest.of(PAGE, SIZE, sortById);
-    }
+    private final Item mockItemUnavailable = Item.builder().name("Item3")
+            .description("Description2").available(false).owner(mockUser2).build();
 
     @BeforeEach
     void saveData() {
@@ -47,23 +44,41 @@ class ItemRepositoryTest {
         userRepository.save(mockUser2);
         itemRepository.save(mockItem1);
         itemRepository.save(mockItem2);
+        itemRepository.save(mockItemUnavailable);
+    }
+
+    @Test
+    void testFindViewsByOwnerId() {
+
+        List<ItemView> items = itemRepository.findViewsByOwnerId(2, PageRequest.of(PAGE, SIZE));
+
+        assertThat(items).extracting(ItemView::getId).containsExactly(mockItem2.getId(), mockItemUnavailable.getId());
+        assertThat(items.get(0).getOwnerEmail()).isEqualTo(mockUser2.getEmail());
+        assertThat(items.get(0).getRequestId()).isNull();
+    }
+
+    @Test
+    void testSearchViews() {
+
+        List<ItemView> items = itemRepository.searchViews("Description2", PageRequest.of(PAGE, SIZE));
+
+        assertThat(items).extracting(ItemView::getId).containsExactly(mockItem2.getId());
+        assertThat(items.get(0).getName()).isEqualTo(mockItem2.getName());
     }
 
     @Test
-    void testGetAllByOwnerId() {
+    void testSearchViewsSkipsUnavailable() {
 
-        Collection<Item> items = itemRepository.findAllByOwnerId(1, getPage());
+        List<ItemView> items = itemRepository.searchViews("Item", PageRequest.of(PAGE, SIZE));
 
-        assertThat(items).isNotEmpty();
-        assertThat(items).hasSize(1).contains(mockItem1);
+        assertThat(items).extracting(ItemView::getId).containsExactly(mockItem1.getId(), mockItem2.getId());
     }
 
     @Test
-    void testSearch() {
+    void testFindViewsByOwnerIdPage() {
 
-        Collection<Item> items = itemRepository.search("Description2", getPage());
+        List<ItemView> items = itemRepository.findViewsByOwnerId(2, PageRequest.of(1, 1));
 
-        assertThat(items).isNotEmpty();
-        assertThat(items).hasSize(1).contains(mockItem2);
+        assertThat(items).extracting(ItemView::getId).containsExactly(mockItemUnavailable.getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.ItemImportService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemImportReport;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(properties = {"shareit.import.chunk-size=2", "spring.datasource.url=jdbc:h2:mem:import"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemImportServiceIntegrationTest {
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemImportService itemImportService;
+
+    @Test
+    void testImportCsvReportsBadRows() throws IOException {
+        userService.addUser(new UserDto(0, "Owner", "owner@ya.ru"));
+        String csv = "name,description,available\n" +
+                "Drill,\"Cordless, 18V\",true\n" +
+                "Saw,Hand saw,maybe\n" +
+                "\n" +
+                "Ladder,Three metres,false\n" +
+                "Drill,Duplicate name,true\n" +
+                "Hammer,,true\n";
+
+        ItemImportReport report = itemImportService.importItems(1, new StringReader(csv),
+                ItemImportService.Format.CSV);
+
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getFailed(), equalTo(3L));
+        assertThat(report.getErrors().stream().map(ItemImportReport.RowError::getLine).sorted()
+                .collect(Collectors.toList()), contains(3L, 6L, 7L));
+        assertThat(itemService.getItemDtosByUserId(1, 0, 20), hasSize(2));
+        assertThat(itemService.getItemDtosBySubString("18V", 0, 20), hasSize(1));
+    }
+
+    @Test
+    void testImportNdjson() throws IOException {
+        userService.addUser(new UserDto(0, "Owner", "owner@ya.ru"));
+        String ndjson = "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n" +
+                "{\"name\":\"Saw\"}\n" +
+                "{\"name\":\"Tent\",\"description\":\"Two person\",\"available\":true}\n";
+
+        ItemImportReport report = itemImportService.importItems(1, new StringReader(ndjson),
+                ItemImportService.Format.NDJSON);
+
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getFailed(), equalTo(1L));
+        assertThat(report.getErrors().get(0).getLine(), equalTo(2L));
+    }
+}
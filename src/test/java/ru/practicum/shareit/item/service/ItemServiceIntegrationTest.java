@@ -7,13 +7,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserMapper;
 
-import java.util.Collection;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -26,6 +30,7 @@ class ItemServiceIntegrationTest {
     private final ItemService itemService;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
+    private final CommentRepository commentRepository;
 
     private final User userMock1 = User.builder()
             .id(1)
@@ -52,13 +57,26 @@ class ItemServiceIntegrationTest {
         userService.addUser(userMapper.toUserDto(userMock1));
         itemService.addItem(mockItem1, userMock1.getId());
 
-        Collection<Item> items = itemService.getItemsBySubString("Description", 0, 20);
+        List<ItemDto> items = itemService.getItemDtosBySubString("Description", 0, 20);
 
         assertThat(items, hasSize(1));
-        assertThat(items.stream().findFirst().isPresent(), is(true));
-        assertThat(items.stream().findFirst().get().getId(), equalTo(mockItem1.getId()));
-        assertThat(items.stream().findFirst().get().getName(), equalTo(mockItem1.getName()));
-        assertThat(items.stream().findFirst().get().getDescription(), equalTo(mockItem1.getDescription()));
+        assertThat(items.get(0).getId(), equalTo(mockItem1.getId()));
+        assertThat(items.get(0).getName(), equalTo(mockItem1.getName()));
+        assertThat(items.get(0).getDescription(), equalTo(mockItem1.getDescription()));
+    }
+
+    @Test
+    void testGetItemDtosByUserId() {
+        userService.addUser(userMapper.toUserDto(userMock1));
+        itemService.addItem(mockItem1, userMock1.getId());
+
+        List<ItemDto> items = itemService.getItemDtosByUserId(userMock1.getId(), 0, 20);
+
+        assertThat(items, hasSize(1));
+        assertThat(items.get(0).getName(), equalTo(mockItem1.getName()));
+        assertThat(items.get(0).getOwner().getEmail(), equalTo(userMock1.getEmail()));
+        assertThat(items.get(0).getLastBooking(), nullValue());
+        assertThat(items.get(0).getComments(), empty());
     }
 
     @Test
@@ -66,9 +84,22 @@ class ItemServiceIntegrationTest {
         userService.addUser(userMapper.toUserDto(userMock1));
         itemService.addItem(mockItem1, userMock1.getId());
 
-        Collection<Item> items = itemService.getItemsBySubString("", 0, 20);
+        List<ItemDto> items = itemService.getItemDtosBySubString("", 0, 20);
 
         assertThat(items, hasSize(0));
         assertThat(items, empty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetItemByIdWithComments() {
+        userService.addUser(userMapper.toUserDto(userMock1));
+        itemService.addItem(mockItem1, userMock1.getId());
+        commentRepository.save(new Comment(0, "Comment", mockItem1, userMock1, LocalDateTime.now()));
+
+        Item item = itemService.getItemById(mockItem1.getId(), userMock1.getId());
+
+        assertThat(item.getComments(), hasSize(1));
+        assertThat(item.getComments().get(0).getText(), equalTo("Comment"));
+        assertThat(item.getComments().get(0).getAuthor().getName(), equalTo(userMock1.getName()));
+    }
+}
@@ -10,13 +10,16 @@ import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Pageable;
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.dto.BookingSummary;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -30,9 +33,9 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -58,6 +61,8 @@ public class ItemServiceUnitTest {
     private MockitoSession session;
     @Mock
     private ValidateItemData validateItemData;
+    @Mock
+    private ItemAvailabilityIndex availabilityIndex;
 
     private final ItemMapper itemMapper;
 
@@ -65,7 +70,7 @@ public class ItemServiceUnitTest {
     void setUp() {
         session = Mockito.mockitoSession().initMocks(this).startMocking();
         itemService = new ItemService(itemRepository, userService, validateItemData, bookingRepository,
-                commentRepository, itemRequestService, itemMapper);
+                commentRepository, itemRequestService, itemMapper, availabilityIndex);
     }
 
     @AfterEach
@@ -99,10 +104,6 @@ public class ItemServiceUnitTest {
             .description("Description2").available(true).owner(user2).build();
 
 
-    private final Booking mockBooking = Booking.builder()
-            .id(1).start(LocalDateTime.now().plusDays(5)).end(LocalDateTime.now().plusDays(2))
-            .item(mockItem1).booker(user2).status(BookingStatus.APPROVED).build();
-
     private final Comment mockComment = Comment.builder()
             .id(1).text("Comment").item(mockItem1).author(user2).created(LocalDateTime.now()).build();
 
@@ -110,7 +111,7 @@ public class ItemServiceUnitTest {
     @Test
     void testCreateItem() throws ValidationException {
         Mockito.when(userService.isContainsUser(anyInt())).thenReturn(true);
-        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class), Mockito.any(UserService.class)))
+        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class)))
                 .thenReturn(true);
         Mockito.when(userService.getUser(anyInt())).thenReturn(user1);
         Mockito.when(itemRepository.save(Mockito.any(Item.class))).thenReturn(mockItem1);
@@ -128,7 +129,7 @@ public class ItemServiceUnitTest {
 
     @Test
     void testCreateItemFailValidationItemWithoutAvailable() throws ValidationException {
-        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class), Mockito.any(UserService.class)))
+        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class)))
                 .thenReturn(false);
         Mockito.when(userService.isContainsUser(anyInt())).thenReturn(true);
         Exception exception3 = assertThrows(ValidationException.class, () ->
@@ -140,7 +141,7 @@ public class ItemServiceUnitTest {
     @Test
     void testCreateItemFailValidationItemWithoutName() throws ValidationException {
         Mockito.when(userService.isContainsUser(anyInt())).thenReturn(true);
-        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class), Mockito.any(UserService.class)))
+        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class)))
                 .thenReturn(false);
 
         Exception exception = assertThrows(ValidationException.class, () ->
@@ -152,7 +153,7 @@ public class ItemServiceUnitTest {
     @Test
     void testCreateItemWithoutDesc() throws ValidationException {
         Mockito.when(userService.isContainsUser(anyInt())).thenReturn(true);
-        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class), Mockito.any(UserService.class)))
+        Mockito.when(validateItemData.checkAllData(anyInt(), Mockito.any(Item.class)))
                 .thenReturn(false);
 
         Exception exception2 = assertThrows(ValidationException.class, () ->
@@ -188,17 +189,23 @@ public class ItemServiceUnitTest {
     }
 
     @Test
-    void testFindAllByUserId() throws InputDataException {
-        Mockito.when(itemRepository.findAllByOwnerId(anyInt(), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockItem1, mockItem2));
-
-        Collection<Item> items = itemService.getItemsByUserId(1, 0, 20);
-
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .findAllByOwnerId(anyInt(), Mockito.any(Pageable.class));
+    void testGetItemDtosByUserId() throws InputDataException {
+        ItemView view = view(mockItem1);
+        BookingSummary last = summary(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+        BookingSummary next = summary(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        Mockito.when(itemRepository.findViewsByOwnerId(Mockito.eq(1), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(view));
+        Mockito.when(bookingRepository.findBookingSummaryByItemIds(Set.of(1), BookingStatus.APPROVED))
+                .thenReturn(List.of(last, next));
+        Mockito.when(commentRepository.findAllByItemIdIn(Set.of(1))).thenReturn(List.of(mockComment));
+
+        List<ItemDto> items = itemService.getItemDtosByUserId(1, 0, 20);
 
-        assertThat(items, hasSize(2));
-        assertThat(items, equalTo(List.of(mockItem1, mockItem2)));
+        assertThat(items, hasSize(1));
+        assertThat(items.get(0).getName(), equalTo(mockItem1.getName()));
+        assertThat(items.get(0).getLastBooking().getId(), equalTo(1));
+        assertThat(items.get(0).getNextBooking().getId(), equalTo(2));
+        assertThat(items.get(0).getComments(), hasSize(1));
     }
 
     @Test
@@ -216,6 +223,22 @@ public class ItemServiceUnitTest {
         assertThat(item.getName(), equalTo(mockUpdatedItem1.getName()));
     }
 
+    @Test
+    void testUpdateItemReturnsBookingsToOwner() {
+        BookingSummary last = summary(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+        BookingSummary next = summary(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        Mockito.when(itemRepository.findById(anyInt())).thenReturn(Optional.of(mockItem1));
+        Mockito.when(itemRepository.save(Mockito.any(Item.class))).thenReturn(mockItem1);
+        Mockito.when(bookingRepository.findBookingSummaryByItemIds(Mockito.anyCollection(),
+                        Mockito.eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(last, next));
+
+        Item item = itemService.updateItem(itemMapper.toItemDto(mockItem1), 1);
+
+        assertThat(item.getLastBooking().getId(), equalTo(1));
+        assertThat(item.getNextBooking().getId(), equalTo(2));
+    }
+
     @Test
     void testUpdateItemWrongUser() {
         Mockito.when(itemRepository.findById(anyInt())).thenReturn(Optional.of(mockItem1));
@@ -240,16 +263,37 @@ public class ItemServiceUnitTest {
 
     @Test
     void testSearchItemByText() {
-        Mockito.when(itemRepository.search(Mockito.any(String.class), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(mockItem2));
+        ItemView view = view(mockItem2);
+        Mockito.when(itemRepository.searchViews(Mockito.eq("Desc2"), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(view));
 
-        Collection<Item> items = itemService.getItemsBySubString("Desc2", 0, 20);
+        List<ItemDto> items = itemService.getItemDtosBySubString("Desc2", 0, 20);
 
-        Mockito.verify(itemRepository, Mockito.times(1))
-                .search(Mockito.any(String.class), Mockito.any(Pageable.class));
+        Mockito.verify(commentRepository, Mockito.times(1)).findAllByItemIdIn(Set.of(mockItem2.getId()));
 
         assertThat(items, hasSize(1));
-        assertThat(items, equalTo(List.of(mockItem2)));
+        assertThat(items.get(0).getName(), equalTo(mockItem2.getName()));
+        assertThat(items.get(0).getLastBooking(), nullValue());
+    }
+
+    @Test
+    void testSearchItemByTextFullText() {
+        ReflectionTestUtils.setField(itemService, "fullTextSearch", true);
+        ItemView view = view(mockItem2);
+        Mockito.when(itemRepository.searchViewsFullText(Mockito.eq("desc:* & 2:*"), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(view));
+
+        List<ItemDto> items = itemService.getItemDtosBySubString("Desc, 2", 0, 20);
+
+        assertThat(items, hasSize(1));
+        assertThat(items.get(0).getId(), equalTo(mockItem2.getId()));
+    }
+
+    @Test
+    void testSearchItemByEmptyText() {
+        assertThat(itemService.getItemDtosBySubString("", 0, 20), empty());
+
+        Mockito.verifyNoInteractions(itemRepository, commentRepository);
     }
 
     @Test
@@ -258,9 +302,9 @@ public class ItemServiceUnitTest {
                 .thenReturn(user2);
         Mockito.when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(mockItem1));
-        Mockito.when(bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(anyInt(),
+        Mockito.when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(anyInt(),
                         anyInt(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.of(mockBooking));
+                .thenReturn(true);
         Mockito.when(commentRepository.save(Mockito.any(Comment.class))).thenReturn(mockComment);
 
         Comment comment = itemService.addComment(2, mockItem1.getId(), mockComment);
@@ -279,13 +323,35 @@ public class ItemServiceUnitTest {
                 .thenReturn(user2);
         Mockito.when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(mockItem1));
-        Mockito.when(bookingRepository.findFirstByBookerIdAndItemIdAndStatusAndStartBefore(anyInt(),
+        Mockito.when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndStartBefore(anyInt(),
                         anyInt(), Mockito.any(BookingStatus.class), Mockito.any(LocalDateTime.class)))
-                .thenReturn(Optional.empty());
+                .thenReturn(false);
 
         Exception exception1 = assertThrows(ValidationException.class, () ->
                 itemService.addComment(user1.getId(), mockItem1.getId(), mockComment));
 
         assertEquals("Ошибка во входных данных", exception1.getMessage());
     }
+
+    private BookingSummary summary(int id, LocalDateTime start, LocalDateTime end) {
+        BookingSummary summary = Mockito.mock(BookingSummary.class);
+        Mockito.when(summary.getId()).thenReturn(id);
+        Mockito.when(summary.getItemId()).thenReturn(1);
+        Mockito.when(summary.getBookerId()).thenReturn(2);
+        Mockito.when(summary.getStart()).thenReturn(start);
+        Mockito.when(summary.getEnd()).thenReturn(end);
+        return summary;
+    }
+
+    private ItemView view(Item item) {
+        ItemView view = Mockito.mock(ItemView.class);
+        Mockito.when(view.getId()).thenReturn(item.getId());
+        Mockito.when(view.getName()).thenReturn(item.getName());
+        Mockito.when(view.getDescription()).thenReturn(item.getDescription());
+        Mockito.when(view.getAvailable()).thenReturn(item.getAvailable());
+        Mockito.when(view.getOwnerId()).thenReturn(item.getOwner().getId());
+        Mockito.when(view.getOwnerName()).thenReturn(item.getOwner().getName());
+        Mockito.when(view.getOwnerEmail()).thenReturn(item.getOwner().getEmail());
+        return view;
+    }
 }
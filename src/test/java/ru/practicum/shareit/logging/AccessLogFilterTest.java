@@ -0,0 +1,99 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.logstash.logback.argument.StructuredArgument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccessLogFilterTest {
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER);
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        events.start();
+        accessLogger.addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(events);
+    }
+
+    @Test
+    void testRequestLoggedAsStructuredEvent() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(Set.of(), 1.0);
+        MockHttpServletRequest request = request("GET", "/items/1", "/items/{id}");
+        request.addHeader("X-Sharer-User-Id", "1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(events.list, hasSize(1));
+        List<String> arguments = Arrays.stream(events.list.get(0).getArgumentArray())
+                .map(argument -> ((StructuredArgument) argument).toString())
+                .filter(argument -> !argument.startsWith("durationMs="))
+                .collect(Collectors.toList());
+        assertThat(arguments, contains("method=GET", "route=/items/{id}", "status=200", "userId=1", "state=null",
+                "sampleRate=1.0", "exception=null"));
+    }
+
+    @Test
+    void testExceptionLoggedAsServerErrorAndRethrown() {
+        AccessLogFilter filter = new AccessLogFilter(Set.of("GET /bookings"), 0.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain failing = (request, ignored) -> {
+            throw new IllegalStateException("Ошибка");
+        };
+
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request("GET", "/bookings", "/bookings"), response, failing));
+
+        assertThat(events.list, hasSize(1));
+        assertThat(Arrays.stream(events.list.get(0).getArgumentArray())
+                        .map(Object::toString)
+                        .collect(Collectors.toList()),
+                hasItems("status=500", "sampleRate=1.0", "exception=java.lang.IllegalStateException"));
+    }
+
+    @Test
+    void testSampledRouteSkipsSuccessButKeepsErrors() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(Set.of("GET /bookings"), 0.0);
+
+        filter.doFilter(request("GET", "/bookings", "/bookings"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        assertThat(events.list, empty());
+
+        MockHttpServletResponse badRequest = new MockHttpServletResponse();
+        badRequest.setStatus(400);
+        filter.doFilter(request("GET", "/bookings", "/bookings"), badRequest, new MockFilterChain());
+        filter.doFilter(request("GET", "/items", "/items"), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(events.list, hasSize(2));
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
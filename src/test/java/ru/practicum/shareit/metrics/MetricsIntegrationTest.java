@@ -0,0 +1,82 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class MetricsIntegrationTest {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+
+    @BeforeEach
+    void saveUser() {
+        userService.addUser(new UserDto(0, "Booker", "booker@ya.ru"));
+    }
+
+    @Test
+    void testServiceAndRouteTimersCarryState() throws Exception {
+        mockMvc.perform(get("/bookings").queryParam("state", "PAST").header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk());
+
+        Timer service = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("service", "BookingServiceImpl", "method", "findViewsByBookerId", "state", "PAST",
+                        "outcome", "SUCCESS")
+                .timer();
+        assertThat(service, notNullValue());
+        assertThat(service.count(), equalTo(1L));
+
+        Timer route = meterRegistry.find("http.server.requests")
+                .tags("uri", "/bookings", "state", "PAST", "outcome", "SUCCESS")
+                .timer();
+        assertThat(route, notNullValue());
+    }
+
+    @Test
+    void testUnknownStateIsCountedAsClientError() throws Exception {
+        mockMvc.perform(get("/bookings").queryParam("state", "SOMETIMES").header(HEADER_USER_ID, 1))
+                .andExpect(status().isBadRequest());
+
+        Timer service = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                .tags("method", "findViewsByBookerId", "state", MetricTags.UNKNOWN, "outcome", "CLIENT_ERROR",
+                        "exception", "ValidationException")
+                .timer();
+        assertThat(service, notNullValue());
+    }
+
+    @Test
+    void testPrometheusEndpoint() throws Exception {
+        mockMvc.perform(get("/users/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")));
+    }
+}
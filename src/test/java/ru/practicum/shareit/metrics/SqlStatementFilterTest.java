@@ -0,0 +1,83 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.ItemRequestService;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlcount",
+        "shareit.sql.statement-threshold=3"
+})
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SqlStatementFilterTest {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+
+    @BeforeEach
+    void saveData() {
+        userService.addUser(new UserDto(0, "Owner", "owner@ya.ru"));
+        userService.addUser(new UserDto(0, "Requester", "requester@ya.ru"));
+        itemService.addItem(Item.builder().name("Item").description("Description").available(true).build(), 1);
+        for (int i = 0; i < 5; i++) {
+            itemRequestService.createRequest(2, ItemRequest.builder().description("Request" + i)
+                    .items(new ArrayList<>()).build());
+        }
+    }
+
+    @Test
+    void testStatementCountInHeaderAndMetric() throws Exception {
+        mockMvc.perform(get("/items/1").header(HEADER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementHeaderAdvice.HEADER));
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementFilter.METRIC)
+                .tags("method", "GET", "uri", "/items/{id}")
+                .summary();
+        assertThat(summary, notNullValue());
+        assertThat(summary.count(), equalTo(1L));
+        assertThat(summary.totalAmount(), greaterThan(0.0));
+    }
+
+    @Test
+    void testRequestOverBudgetFailsInTestMode() {
+        // Вещи каждого запроса догружаются отдельным SQL: классический N+1.
+        Exception exception = assertThrows(IllegalStateException.class, () ->
+                mockMvc.perform(get("/requests/all").header(HEADER_USER_ID, 1)));
+
+        assertThat(exception.getMessage(), containsString("GET /requests/all выполнил"));
+        assertThat(exception.getMessage(), containsString("при бюджете 3"));
+        assertThat(exception.getMessage(), containsString("5x "));
+    }
+}
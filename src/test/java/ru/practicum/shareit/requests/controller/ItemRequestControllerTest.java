@@ -11,6 +11,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.requests.ItemRequestController;
+import ru.practicum.shareit.requests.ItemRequestReactiveService;
 import ru.practicum.shareit.requests.ItemRequestService;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.mapper.ItemRequestMapper;
@@ -38,6 +39,8 @@ class ItemRequestControllerTest {
     private ItemRequestService itemRequestService;
     @MockBean
     private ItemRequestMapper itemRequestMapper;
+    @MockBean
+    private ItemRequestReactiveService itemRequestReactiveService;
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    void testExecutorAvailableOnlyWhereJvmSupportsIt() throws Exception {
+        Optional<ExecutorService> executor = VirtualThreads.newPerTaskExecutor();
+
+        assertEquals(Runtime.version().feature() >= 21, executor.isPresent());
+        if (executor.isPresent()) {
+            assertTrue(executor.get().submit(() -> true).get(10, TimeUnit.SECONDS));
+            executor.get().shutdown();
+        }
+    }
+}
@@ -9,21 +9,25 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.export.ExportService;
 import ru.practicum.shareit.user.UserController;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.model.UserMapper;
 
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,6 +42,8 @@ class UserControllerTest {
     private UserService userService;
     @MockBean
     private UserMapper userMapper;
+    @MockBean
+    private ExportService exportService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -75,7 +81,7 @@ class UserControllerTest {
 
     @Test
     void testFindAllUsers() throws Exception {
-        when(userService.getAllUsers()).thenReturn(List.of(mockUserDto));
+        when(userService.getUsers(0, 20, null)).thenReturn(List.of(mockUserDto));
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
@@ -86,6 +92,35 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.[0].email", is(mockUserDto.getEmail())));
     }
 
+    @Test
+    void testFindUsersAfterCursor() throws Exception {
+        when(userService.getUsers(0, 10, 5)).thenReturn(List.of(mockUserDto));
+
+        mockMvc.perform(get("/users")
+                        .queryParam("size", "10")
+                        .queryParam("after", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)));
+    }
+
+    @Test
+    void testStreamAllUsers() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(objectMapper.writeValueAsBytes(mockUserDto));
+            out.write('\n');
+            return 1L;
+        }).when(exportService).exportUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/users").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(objectMapper.writeValueAsString(mockUserDto) + "\n"));
+    }
+
     @Test
     void testUpdateUser() throws Exception {
         when(userService.updateUser(any(), any(Integer.class))).thenReturn(mockUserDto);
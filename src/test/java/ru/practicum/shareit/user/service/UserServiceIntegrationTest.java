@@ -4,7 +4,9 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.exception.InputDataException;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -13,6 +15,8 @@ import ru.practicum.shareit.user.model.UserMapper;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -21,6 +25,8 @@ import static org.junit.jupiter.api.Assertions.*;
 class UserServiceIntegrationTest {
     private final UserService userService;
     private final UserMapper userMapper;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
     private final User mockUser = User.builder().id(1).name("User").email("user@ya.ru").build();
 
 
@@ -40,4 +46,52 @@ class UserServiceIntegrationTest {
         Exception exception = assertThrows(InputDataException.class, () -> userService.getUser(1));
         assertEquals("Пользователь с таким id не найден", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testUserCacheEvictedOnUpdateAndDelete() {
+        userService.addUser(userMapper.toUserDto(mockUser));
+        userService.getUser(1);
+        userService.isContainsUser(1);
+
+        assertThat(cacheManager.getCache(UserService.USERS_CACHE).get(1), notNullValue());
+        assertThat(cacheManager.getCache(UserService.USER_EXISTS_CACHE).get(1), notNullValue());
+
+        userService.updateUser(new UserDto(1, "Updated", null), 1);
+
+        assertThat(cacheManager.getCache(UserService.USERS_CACHE).get(1), nullValue());
+        assertThat(userService.getUser(1).getName(), equalTo("Updated"));
+
+        userService.deleteUser(1);
+
+        assertThat(cacheManager.getCache(UserService.USERS_CACHE).get(1), nullValue());
+        assertThrows(InputDataException.class, () -> userService.isContainsUser(1));
+    }
+
+    @Test
+    void testUserCacheEvictedAfterCommit() {
+        userService.addUser(userMapper.toUserDto(mockUser));
+        User cached = userService.getUser(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(new UserDto(1, "Updated", null), 1);
+            assertThat(cacheManager.getCache(UserService.USERS_CACHE).get(1), notNullValue());
+        });
+
+        assertThat(cacheManager.getCache(UserService.USERS_CACHE).get(1), nullValue());
+        assertThat(cached.getName(), equalTo(mockUser.getName()));
+        assertThat(userService.getUser(1).getName(), equalTo("Updated"));
+    }
+
+    @Test
+    void testUserCacheKeptOnRollback() {
+        userService.addUser(userMapper.toUserDto(mockUser));
+        userService.getUser(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(new UserDto(1, "Updated", null), 1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(userService.getUser(1).getName(), equalTo(mockUser.getName()));
+    }
+}
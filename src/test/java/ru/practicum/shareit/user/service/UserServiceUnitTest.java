@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,7 +10,13 @@ import org.mockito.Mockito;
 import org.mockito.MockitoSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.context.RequestIdentityMap;
 import ru.practicum.shareit.exception.InputDataException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -44,7 +51,8 @@ public class UserServiceUnitTest {
     @BeforeEach
     void setUp() {
         mockitoSession = Mockito.mockitoSession().initMocks(this).startMocking();
-        userService = new UserService(userRepository, validateUserData, userMapper);
+        userService = new UserService(userRepository, validateUserData, userMapper,
+                new RequestIdentityMap(new SimpleMeterRegistry()), new ConcurrentMapCacheManager());
     }
 
     @AfterEach
@@ -91,15 +99,34 @@ public class UserServiceUnitTest {
 
     @Test
     void testFindAll() {
-        Mockito.when(userRepository.findAll()).thenReturn(List.of(user1, user2));
+        Mockito.when(userRepository.findAllBy(Mockito.any(Pageable.class))).thenReturn(List.of(user1, user2));
 
-        Collection<UserDto> users = userService.getAllUsers();
+        Collection<UserDto> users = userService.getUsers(0, 20, null);
 
-        Mockito.verify(userRepository, times(1)).findAll();
+        Mockito.verify(userRepository, times(1)).findAllBy(PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id")));
 
         assertThat(users, hasSize(2));
     }
 
+    @Test
+    void testFindAllAfterCursor() {
+        Mockito.when(userRepository.findAllByIdGreaterThanOrderById(anyInt(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(user2));
+
+        Collection<UserDto> users = userService.getUsers(0, 1, user1.getId());
+
+        Mockito.verify(userRepository, times(1)).findAllByIdGreaterThanOrderById(user1.getId(),
+                PageRequest.of(0, 1));
+        assertThat(users, hasSize(1));
+    }
+
+    @Test
+    void testFindAllWrongPage() {
+        Exception exception = assertThrows(ValidationException.class, () -> userService.getUsers(0, 0, null));
+
+        assertEquals("Размер страницы не соответствует исходным данным", exception.getMessage());
+    }
+
     @Test
     void testUpdateUser() throws InputDataException {
         Mockito.when(userRepository.save(Mockito.any(User.class))).thenReturn(user1Update);
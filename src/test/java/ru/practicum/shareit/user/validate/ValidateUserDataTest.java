@@ -2,9 +2,19 @@ package ru.practicum.shareit.user.validate;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.Violation;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class ValidateUserDataTest {
@@ -39,4 +49,37 @@ class ValidateUserDataTest {
     void testIncorrectEmail() {
         assertFalse(validate.checkAllData(userIncorrectMail));
     }
+
+    @Test
+    void testValidateReturnsViolations() {
+        User user = User.builder().id(1).name("Mike Smith").email("abya.ru").build();
+
+        List<Violation> violations = validate.validate(user);
+
+        assertThat(violations.stream().map(Violation::getField).collect(Collectors.toList()),
+                contains("email", "name"));
+    }
+
+    @Test
+    void testValidateCorrectUser() {
+        User user = User.builder().id(1).name("Mike").email("ab@ya.ru").build();
+
+        assertTrue(validate.checkAllData(user));
+        assertSame(Violation.none(), validate.validate(user));
+    }
+
+    @Test
+    void testValidateConcurrently() {
+        List<User> users = IntStream.range(0, 10_000)
+                .mapToObj(i -> User.builder().id(i).name("user" + i).email(i % 2 == 0 ? i + "@ya.ru" : "").build())
+                .collect(Collectors.toList());
+
+        List<Boolean> results = users.parallelStream()
+                .map(validate::checkAllData)
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(i % 2 == 0, results.get(i));
+        }
+    }
 }
\ No newline at end of file